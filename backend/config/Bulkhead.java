@@ -0,0 +1,90 @@
+package com.eventreservation.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many request threads one workload can occupy at once. Callers beyond maxConcurrent wait
+ * up to maxWaitMs, but only maxQueued of them; anyone past that is turned away immediately.
+ */
+public class Bulkhead {
+    
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Timer waitTimer;
+    
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+        
+        Gauge.builder("bulkhead.active", this, Bulkhead::getActive)
+                .description("Requests currently running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for a bulkhead slot")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.max", this, b -> b.maxConcurrent)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        accepted = meterRegistry.counter("bulkhead.calls", "bulkhead", name, "outcome", "accepted");
+        rejected = meterRegistry.counter("bulkhead.calls", "bulkhead", name, "outcome", "rejected");
+        waitTimer = Timer.builder("bulkhead.wait")
+                .description("Time spent waiting for a bulkhead slot")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+    
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (maxWaitMs <= 0 || queued.incrementAndGet() > maxQueued) {
+            if (maxWaitMs > 0) {
+                queued.decrementAndGet();
+            }
+            rejected.increment();
+            return false;
+        }
+        long waitFrom = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - waitFrom, TimeUnit.NANOSECONDS);
+            (acquired ? accepted : rejected).increment();
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public String getName() { return name; }
+}
\ No newline at end of file
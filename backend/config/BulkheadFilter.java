@@ -0,0 +1,118 @@
+package com.eventreservation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classifies each request as a booking write, a public catalog read or an admin/reporting call and
+ * runs it inside that workload's bulkhead, so a burst in one class can't take the threads (or, via
+ * WorkloadRoutingDataSource, the connections) the others need. Runs ahead of security so rejected
+ * requests cost nothing.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private Environment environment;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+    
+    @PostConstruct
+    void createBulkheads() {
+        for (Workload workload : new Workload[] {Workload.BOOKING, Workload.CATALOG, Workload.ADMIN}) {
+            String prefix = "bulkheads." + workload.key() + ".";
+            bulkheads.put(workload, new Bulkhead(workload.key(),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 50),
+                    environment.getProperty(prefix + "max-queued", Integer.class, 50),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, 100L),
+                    meterRegistry));
+        }
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Workload workload = classify(request.getMethod(), request.getServletPath());
+        Bulkhead bulkhead = bulkheads.get(workload);
+        if (bulkhead == null) {
+            runAs(Workload.GENERAL, request, response, filterChain);
+            return;
+        }
+        if (!bulkhead.tryAcquire()) {
+            reject(response, bulkhead);
+            return;
+        }
+        try {
+            runAs(workload, request, response, filterChain);
+        } finally {
+            bulkhead.release();
+        }
+    }
+    
+    private void runAs(Workload workload, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Workload.set(workload);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Workload.clear();
+        }
+    }
+    
+    static Workload classify(String method, String path) {
+        if ("OPTIONS".equals(method)) {
+            return Workload.GENERAL;
+        }
+        // The POST multi-get is a catalog read that only uses POST to carry a long id list
+        boolean read = "GET".equals(method) || ("POST".equals(method) && path.equals("/events/batch"));
+        if (path.startsWith("/admin/")
+                || path.equals("/reservations/all")
+                || path.startsWith("/reservations/event/")
+                || (!read && path.startsWith("/events"))) {
+            return Workload.ADMIN;
+        }
+        if (("POST".equals(method) && path.equals("/reservations"))
+                || ("PUT".equals(method) && path.startsWith("/reservations/") && path.endsWith("/cancel"))) {
+            return Workload.BOOKING;
+        }
+        if (read && path.startsWith("/events")) {
+            return Workload.CATALOG;
+        }
+        return Workload.GENERAL;
+    }
+    
+    private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Service busy, please retry");
+        error.put("bulkhead", bulkhead.getName());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
\ No newline at end of file
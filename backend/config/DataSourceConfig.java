@@ -0,0 +1,90 @@
+package com.eventreservation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary connections come from one pool per workload (bulkheads.*.pool-size). With
+ * replicas.enabled=true, read-only transactions are routed to the replicas on top of that.
+ */
+@Configuration
+public class DataSourceConfig {
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${replicas.urls:}")
+    private List<String> replicaUrls;
+    
+    @Value("${replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+    
+    @Value("${replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+    
+    @Value("${replicas.pool-size:10}")
+    private int replicaPoolSize;
+    
+    @Value("${replicas.max-lag-ms:1000}")
+    private long maxLagMs;
+    
+    @Value("${replicas.lag-query:SELECT 0}")
+    private String lagQuery;
+    
+    @Bean
+    public WorkloadRoutingDataSource workloadDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName(workload.key());
+            pool.setMaximumPoolSize(environment.getProperty("bulkheads." + workload.key() + ".pool-size", Integer.class, 10));
+            pool.setMetricRegistry(meterRegistry);
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "replicas", name = "enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaDataSource(WorkloadRoutingDataSource workloadDataSource,
+                                                      DataSourceProperties properties, MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(workloadDataSource, replicas, lagQuery, maxLagMs, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaDataSource) {
+        DataSource replicas = replicaDataSource.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(replicas != null ? replicas : workloadDataSource);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.eventreservation.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica whose last measured lag is within bounds, and
+ * everything else (writes, non-transactional work, lagging or unreachable replicas) to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before it marks the transaction read-only, so the real lookup has to wait for the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final Counter replicaReads;
+    private final Counter primaryFallbacks;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    String lagQuery, long maxLagMs, MeterRegistry meterRegistry) {
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("Last measured replication lag; -1 when the replica is unreachable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.key)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        replicaReads = meterRegistry.counter("datasource.routing", "target", "replica");
+        primaryFallbacks = meterRegistry.counter("datasource.routing", "target", "primary_fallback");
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        // Round-robin, skipping replicas that are behind or down
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable(maxLagMs)) {
+                replicaReads.increment();
+                return replica.key;
+            }
+        }
+        primaryFallbacks.increment();
+        return PRIMARY;
+    }
+    
+    @Scheduled(fixedDelayString = "${replicas.lag-check-interval-ms:1000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(1);
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    lag = result.next() ? Math.max(0, result.getLong(1)) : 0;
+                }
+            } catch (Exception e) {
+                lag = -1;
+            }
+            if (replica.isUsable(maxLagMs) != (lag >= 0 && lag <= maxLagMs)) {
+                logger.warn("Replica {} is now {} (lag {} ms)", replica.key,
+                        lag >= 0 && lag <= maxLagMs ? "serving reads" : "bypassed", lag);
+            }
+            replica.lagMs = lag;
+        }
+    }
+    
+    // Picked up as the bean's destroy method, since the replica pools aren't beans
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    private static class Replica {
+        
+        private final String key;
+        private final DataSource dataSource;
+        // Unknown until the first check, so reads stay on the primary at startup
+        private volatile long lagMs = -1;
+        
+        Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+        
+        boolean isUsable(long maxLagMs) {
+            return lagMs >= 0 && lagMs <= maxLagMs;
+        }
+    }
+}
\ No newline at end of file
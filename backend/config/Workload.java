@@ -0,0 +1,62 @@
+package com.eventreservation.config;
+
+import java.util.concurrent.Callable;
+
+// Workload classes that get their own bulkhead and connection pool; GENERAL is everything unclassified
+public enum Workload {
+    BOOKING, CATALOG, ADMIN, GENERAL;
+    
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+    
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : GENERAL;
+    }
+    
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+    
+    // Runs the task on another thread under the caller's workload, so it uses the caller's connection pool
+    public static Runnable propagate(Runnable task) {
+        Workload workload = CURRENT.get();
+        return () -> {
+            Workload previous = CURRENT.get();
+            CURRENT.set(workload);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Workload workload = CURRENT.get();
+        return () -> {
+            Workload previous = CURRENT.get();
+            CURRENT.set(workload);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    private static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+    
+    public String key() {
+        return name().toLowerCase();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.eventreservation.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// One connection pool per workload, picked by the class BulkheadFilter assigned to the current request
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private final Map<Workload, DataSource> pools;
+    
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.GENERAL));
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+    
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
\ No newline at end of file
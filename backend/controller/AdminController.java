@@ -0,0 +1,132 @@
+package com.eventreservation.controller;
+
+import com.eventreservation.dto.SalesStatsDto;
+import com.eventreservation.model.ArchivedEvent;
+import com.eventreservation.model.ArchivedReservation;
+import com.eventreservation.service.BookingJournal;
+import com.eventreservation.service.EventLifecycleService;
+import com.eventreservation.service.JournalSnapshotService;
+import com.eventreservation.service.SalesStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = "http://localhost:3000")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    
+    @Autowired
+    private SalesStatsService salesStatsService;
+    
+    @Autowired
+    private EventLifecycleService eventLifecycleService;
+    
+    @Autowired
+    private BookingJournal bookingJournal;
+    
+    @Autowired
+    private JournalSnapshotService journalSnapshotService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getSalesStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("totals", salesStatsService.getTotals());
+        response.put("categories", salesStatsService.getCategoryStats());
+        response.put("events", salesStatsService.getAllEventStats());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/stats/events/{eventId}")
+    public ResponseEntity<SalesStatsDto> getEventSalesStats(@PathVariable Long eventId) {
+        return ResponseEntity.ok(salesStatsService.getEventStats(eventId));
+    }
+    
+    @GetMapping("/stats/categories")
+    public ResponseEntity<List<SalesStatsDto>> getCategorySalesStats() {
+        return ResponseEntity.ok(salesStatsService.getCategoryStats());
+    }
+    
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<Map<String, String>> reconcileSalesStats() {
+        salesStatsService.reconcile();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Sales stats reconciled");
+        return ResponseEntity.ok(response);
+    }
+    
+    // Archived (finished) events and their reservations
+    @GetMapping("/archive/events")
+    public ResponseEntity<Page<ArchivedEvent>> getArchivedEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        PageRequest pageable = PageRequest.of(page, Math.min(size, 500), Sort.by("eventDateTime").descending());
+        return ResponseEntity.ok(eventLifecycleService.getArchivedEvents(start, end, pageable));
+    }
+    
+    @GetMapping("/archive/events/{eventId}")
+    public ResponseEntity<?> getArchivedEvent(@PathVariable Long eventId) {
+        return eventLifecycleService.getArchivedEvent(eventId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "Archived event not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+                });
+    }
+    
+    @GetMapping("/archive/events/{eventId}/reservations")
+    public ResponseEntity<List<ArchivedReservation>> getArchivedEventReservations(@PathVariable Long eventId) {
+        return ResponseEntity.ok(eventLifecycleService.getArchivedEventReservations(eventId));
+    }
+    
+    @GetMapping("/archive/users/{userId}/reservations")
+    public ResponseEntity<List<ArchivedReservation>> getArchivedUserReservations(@PathVariable Long userId) {
+        return ResponseEntity.ok(eventLifecycleService.getArchivedUserReservations(userId));
+    }
+    
+    @PostMapping("/lifecycle/run")
+    public ResponseEntity<Map<String, String>> runLifecycle() {
+        eventLifecycleService.run();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Lifecycle run finished");
+        return ResponseEntity.ok(response);
+    }
+    
+    // Booking journal: decoded entries from a sequence on, the segment listing, and on-demand snapshots.
+    // The raw segment and snapshot files are not served, since their row images include password hashes.
+    @GetMapping("/journal")
+    public ResponseEntity<Map<String, Object>> getJournal(@RequestParam(defaultValue = "1") long fromSequence,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("lastSequence", bookingJournal.getLastSequence());
+        response.put("entries", bookingJournal.read(fromSequence, Math.min(limit, 1000)));
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/journal/segments")
+    public ResponseEntity<List<Map<String, Object>>> getJournalSegments() {
+        return ResponseEntity.ok(bookingJournal.listSegments());
+    }
+    
+    @PostMapping("/journal/snapshot")
+    public ResponseEntity<Map<String, Object>> writeJournalSnapshot() {
+        return ResponseEntity.ok(journalSnapshotService.writeSnapshot());
+    }
+}
\ No newline at end of file
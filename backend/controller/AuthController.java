@@ -5,6 +5,8 @@ import com.eventreservation.dto.UserRegistrationDto;
 import com.eventreservation.model.User;
 import com.eventreservation.security.JwtUtil;
 import com.eventreservation.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -33,10 +35,14 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
         try {
             User user = userService.registerUser(registrationDto);
+            meterRegistry.counter("auth.registrations").increment();
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User registered successfully");
@@ -57,6 +63,7 @@ public class AuthController {
     
     @PostMapping("/login")
     public ResponseEntity<?> loginUser(@Valid @RequestBody LoginDto loginDto) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())
@@ -78,12 +85,15 @@ public class AuthController {
                 "role", user.getRole().name()
             ));
             
+            sample.stop(meterRegistry.timer("auth.login", "outcome", "success"));
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", "bad_credentials"));
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid email or password");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         } catch (Exception e) {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", "error"));
             Map<String, String> error = new HashMap<>();
             error.put("error", "Authentication failed");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -0,0 +1,32 @@
+package com.eventreservation.controller;
+
+import com.eventreservation.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Profile, upcoming reservations and recommendations in one round trip; see DashboardService
+    @GetMapping
+    public ResponseEntity<?> getDashboard(Authentication authentication) {
+        return dashboardService.getDashboard(authentication.getName())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("error", "User not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+                });
+    }
+}
\ No newline at end of file
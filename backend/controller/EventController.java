@@ -1,24 +1,48 @@
 package com.eventreservation.controller;
 
+import com.eventreservation.dto.SeatMapDto;
 import com.eventreservation.model.Event;
 import com.eventreservation.model.EventCategory;
+import com.eventreservation.service.AvailabilityStreamService;
+import com.eventreservation.service.CatalogSnapshotService;
+import com.eventreservation.service.CatalogSnapshotService.CatalogSnapshot;
+import com.eventreservation.service.CatalogSnapshotService.CatalogView;
+import com.eventreservation.service.CatalogVersionService;
 import com.eventreservation.service.EventService;
+import com.eventreservation.service.SeatInventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/events")
@@ -28,79 +52,216 @@ public class EventController {
     @Autowired
     private EventService eventService;
     
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+    
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+    
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${catalog.batch-max-ids:200}")
+    private int maxBatchIds;
+    
+    // Requests are validated before the conditional check: once it has set ETag and Last-Modified they
+    // can't be taken back, and an error body must never be cached or revalidated under them
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
-        List<Event> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(events);
+    public void getAllEvents(@RequestParam(required = false) String fields,
+                             ServletWebRequest webRequest) throws IOException {
+        List<String> requested = parseFields(fields);
+        String invalid = checkFields(requested);
+        if (invalid != null) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, invalid);
+            return;
+        }
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        if (requested != null) {
+            writeFields(requested, false, webRequest);
+            return;
+        }
+        writeSnapshot(catalogSnapshotService.getSnapshot(CatalogView.UPCOMING), webRequest);
+    }
+    
+    // Multi-get for clients holding a list of ids: GET /events?ids=3,1,7, or POST /events/batch with a JSON array
+    @GetMapping(params = "ids")
+    public void getEventsByIds(@RequestParam List<Long> ids, ServletWebRequest webRequest) throws IOException {
+        String invalid = checkIds(ids);
+        if (invalid != null) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, invalid);
+            return;
+        }
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        writeEventsByIds(ids, webRequest);
+    }
+    
+    @PostMapping("/batch")
+    public void getEventsByIdsBatch(@RequestBody List<Long> ids, ServletWebRequest webRequest) throws IOException {
+        String invalid = checkIds(ids);
+        if (invalid != null) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, invalid);
+            return;
+        }
+        writeEventsByIds(ids, webRequest);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEventById(@PathVariable Long id) {
+    public void getEventById(@PathVariable Long id, ServletWebRequest webRequest) throws IOException {
+        String etag = catalogVersionService.getEventETag(id);
+        if (etag == null) {
+            writeError(webRequest.getResponse(), HttpStatus.NOT_FOUND, "Event not found");
+            return;
+        }
+        // ETag only: capacity changes don't move updatedAt, so a Last-Modified date would miss them
+        if (isNotModified(webRequest, etag, -1)) {
+            return;
+        }
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot("event:" + id, etag,
+                () -> eventService.getEventById(id).orElse(null));
+        if (snapshot.json() == null) {
+            writeError(webRequest.getResponse(), HttpStatus.NOT_FOUND, "Event not found");
+            return;
+        }
+        writeSnapshot(snapshot, webRequest);
+    }
+    
+    @GetMapping("/{id}/availability/stream")
+    public ResponseEntity<?> streamEventAvailability(@PathVariable Long id) {
         Optional<Event> event = eventService.getEventById(id);
-        if (event.isPresent()) {
-            return ResponseEntity.ok(event.get());
+        if (event.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Event not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error);
         }
         
-        Map<String, String> error = new HashMap<>();
-        error.put("error", "Event not found");
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        try {
+            SseEmitter emitter = availabilityStreamService.subscribe(event.get());
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(error);
+        }
     }
     
     @GetMapping("/featured")
-    public ResponseEntity<List<Event>> getFeaturedEvents() {
-        List<Event> events = eventService.getFeaturedEvents();
-        return ResponseEntity.ok(events);
+    public void getFeaturedEvents(ServletWebRequest webRequest) throws IOException {
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        writeSnapshot(catalogSnapshotService.getSnapshot(CatalogView.FEATURED), webRequest);
     }
     
     @GetMapping("/bookable")
-    public ResponseEntity<List<Event>> getBookableEvents() {
-        List<Event> events = eventService.getBookableEvents();
-        return ResponseEntity.ok(events);
+    public void getBookableEvents(@RequestParam(required = false) String fields,
+                                  ServletWebRequest webRequest) throws IOException {
+        List<String> requested = parseFields(fields);
+        String invalid = checkFields(requested);
+        if (invalid != null) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, invalid);
+            return;
+        }
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        if (requested != null) {
+            writeFields(requested, true, webRequest);
+            return;
+        }
+        writeSnapshot(catalogSnapshotService.getSnapshot(CatalogView.BOOKABLE), webRequest);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Event>> searchEvents(@RequestParam String keyword) {
-        List<Event> events = eventService.searchEvents(keyword);
-        return ResponseEntity.ok(events);
+    public void searchEvents(@RequestParam String keyword, ServletWebRequest webRequest) throws IOException {
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        writeCatalog("search:" + keyword, () -> eventService.searchEvents(keyword), webRequest);
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Event>> getEventsByCategory(@PathVariable EventCategory category) {
-        List<Event> events = eventService.getEventsByCategory(category);
-        return ResponseEntity.ok(events);
+    public void getEventsByCategory(@PathVariable EventCategory category, ServletWebRequest webRequest) throws IOException {
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        writeCatalog("category:" + category, () -> eventService.getEventsByCategory(category), webRequest);
     }
     
     @GetMapping("/paginated")
-    public ResponseEntity<Page<Event>> getEventsWithPagination(
+    public void getEventsWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "eventDateTime") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            ServletWebRequest webRequest) throws IOException {
         
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+        if (isCatalogNotModified(webRequest)) {
+            return;
+        }
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Event> events = eventService.getEventsWithPagination(pageable);
-        
-        return ResponseEntity.ok(events);
+        writeCatalog("page:" + page + ":" + size + ":" + sort, () -> eventService.getEventsWithPagination(pageable), webRequest);
     }
     
     @GetMapping("/date-range")
-    public ResponseEntity<List<Event>> getEventsBetweenDates(
+    public void getEventsBetweenDates(
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            ServletWebRequest webRequest) throws IOException {
         
+        LocalDateTime start;
+        LocalDateTime end;
         try {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-            LocalDateTime start = LocalDateTime.parse(startDate, formatter);
-            LocalDateTime end = LocalDateTime.parse(endDate, formatter);
-            
-            List<Event> events = eventService.getEventsBetweenDates(start, end);
-            return ResponseEntity.ok(events);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            start = LocalDateTime.parse(startDate, formatter);
+            end = LocalDateTime.parse(endDate, formatter);
+        } catch (DateTimeParseException e) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, "startDate and endDate must look like 2025-07-01T00:00:00");
+            return;
+        }
+        if (end.isBefore(start)) {
+            writeError(webRequest.getResponse(), HttpStatus.BAD_REQUEST, "endDate must not be before startDate");
+            return;
+        }
+        
+        if (isCatalogNotModified(webRequest)) {
+            return;
         }
+        writeCatalog("range:" + start + ":" + end, () -> eventService.getEventsBetweenDates(start, end), webRequest);
+    }
+    
+    // Per-day counts of active events for a month view, e.g. ?month=2025-07
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendar(@RequestParam String month, WebRequest webRequest) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "month must look like 2025-07");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("month", yearMonth.toString());
+        response.put("days", eventService.getCalendarCounts(yearMonth));
+        return ResponseEntity.ok(response);
     }
     
     // Admin endpoints
@@ -145,8 +306,133 @@ public class EventController {
         }
     }
     
+    @GetMapping("/{id}/seat-map")
+    public ResponseEntity<?> getSeatMap(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(seatInventoryService.describeSeatMap(id));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+    
+    @PutMapping("/{id}/seat-map")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> defineSeatMap(@PathVariable Long id, @Valid @RequestBody SeatMapDto seatMap) {
+        try {
+            return ResponseEntity.ok(seatInventoryService.defineSeatMap(id, seatMap));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @GetMapping("/categories")
     public ResponseEntity<EventCategory[]> getEventCategories() {
         return ResponseEntity.ok(EventCategory.values());
     }
+    
+    // Returns the error message for an unusable id list, or null
+    private String checkIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxBatchIds) {
+            return "Between 1 and " + maxBatchIds + " event ids are required";
+        }
+        if (ids.contains(null)) {
+            return "Event ids must not be null";
+        }
+        return null;
+    }
+    
+    private void writeEventsByIds(List<Long> ids, ServletWebRequest webRequest) throws IOException {
+        writeCatalog("ids:" + ids, () -> {
+            List<Event> events = eventService.getEventsByIds(ids);
+            Set<Long> found = events.stream().map(Event::getId).collect(Collectors.toSet());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("events", events);
+            response.put("missing", ids.stream().distinct().filter(id -> !found.contains(id)).toList());
+            return response;
+        }, webRequest);
+    }
+    
+    private boolean isCatalogNotModified(WebRequest webRequest) {
+        return isNotModified(webRequest, catalogVersionService.getCatalogETag(), catalogVersionService.getCatalogLastModified());
+    }
+    
+    // Answers If-None-Match / If-Modified-Since before any query runs; a true result means a 304 was written
+    private boolean isNotModified(WebRequest webRequest, String etag, long lastModified) {
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            // Overrides Spring Security's no-store default so browsers and CDNs keep the body and revalidate
+            servletWebRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return webRequest.checkNotModified(etag, lastModified);
+    }
+    
+    // Sparse fieldsets (?fields=title,price) select only the requested columns; null when none were asked for
+    private List<String> parseFields(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return null;
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .toList();
+    }
+    
+    private String checkFields(List<String> requested) {
+        if (requested == null) {
+            return null;
+        }
+        return requested.stream()
+                .filter(field -> !eventService.isSelectableField(field))
+                .findFirst()
+                .map(field -> "Unknown field: " + field)
+                .orElse(null);
+    }
+    
+    private void writeFields(List<String> requested, boolean bookableOnly, ServletWebRequest webRequest) throws IOException {
+        writeCatalog("fields:" + bookableOnly + ":" + requested,
+                () -> eventService.getUpcomingEventFields(requested, bookableOnly), webRequest);
+    }
+    
+    // Catalog-wide lists are cached under the catalog ETag and fall back to their last good copy when the database lags
+    private void writeCatalog(String key, Supplier<?> loader, ServletWebRequest webRequest) throws IOException {
+        writeSnapshot(catalogSnapshotService.getSnapshot(key, catalogVersionService.getCatalogETag(), loader), webRequest);
+    }
+    
+    // Every error body goes out through here. Callers validate before the conditional check, so no validators
+    // are set yet; the one exception, an event deleted mid-request, carries an ETag that can never match again
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+    
+    // Streams pre-rendered JSON straight to the client, gzipped when the client accepts it
+    private void writeSnapshot(CatalogSnapshot snapshot, ServletWebRequest webRequest) throws IOException {
+        HttpServletResponse response = webRequest.getResponse();
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = snapshot.gzipped() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? snapshot.gzipped() : snapshot.json();
+        
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.stale()) {
+            // Validators describe what was actually sent, so the client revalidates once fresh data is back
+            response.setHeader(HttpHeaders.ETAG, snapshot.etag());
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, snapshot.renderedAt());
+            response.setHeader(HttpHeaders.AGE, Long.toString(snapshot.ageMillis() / 1000));
+            response.setHeader("X-Catalog-Stale", "true");
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.eventreservation.controller;
 
 import com.eventreservation.dto.ReservationDto;
+import com.eventreservation.service.BookingConcurrencyLimiter;
+import com.eventreservation.service.IdempotencyService;
 import com.eventreservation.service.ReservationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -23,17 +27,51 @@ public class ReservationController {
     @Autowired
     private ReservationService reservationService;
     
+    @Autowired
+    private BookingConcurrencyLimiter bookingConcurrencyLimiter;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     @PostMapping
-    public ResponseEntity<?> createReservation(@Valid @RequestBody ReservationDto reservationDto, 
+    public ResponseEntity<?> createReservation(@Valid @RequestBody ReservationDto reservationDto,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                              Authentication authentication) {
+        String userEmail = authentication.getName();
+        if (idempotencyKey == null) {
+            return bookReservation(reservationDto, userEmail);
+        }
+        String fingerprint = reservationDto.getEventId() + "|" + reservationDto.getNumberOfTickets()
+                + "|" + reservationDto.getSpecialRequests();
+        return idempotencyService.execute("create:" + userEmail + ":" + idempotencyKey, fingerprint,
+                () -> bookReservation(reservationDto, userEmail));
+    }
+    
+    private ResponseEntity<?> bookReservation(ReservationDto reservationDto, String userEmail) {
+        if (!bookingConcurrencyLimiter.tryAcquire()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Booking is busy, please retry");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+        }
+        long started = System.nanoTime();
+        boolean sample = true;
         try {
-            String userEmail = authentication.getName();
             ReservationDto createdReservation = reservationService.createReservation(reservationDto, userEmail);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
         } catch (RuntimeException e) {
+            // Business rejections (sold out, bad ticket count) fail fast and would pull the latency signal down;
+            // only database and transaction failures say something about contention
+            sample = e instanceof DataAccessException || e instanceof TransactionException;
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } finally {
+            if (sample) {
+                // Includes the commit, which is where lock and pool contention shows up
+                bookingConcurrencyLimiter.release(System.nanoTime() - started);
+            } else {
+                bookingConcurrencyLimiter.release();
+            }
         }
     }
     
@@ -59,7 +97,7 @@ public class ReservationController {
     }
     
     @GetMapping("/code/{reservationCode}")
-    public ResponseEntity<?> getReservationByCode(@PathVariable String reservationCode, 
+    public ResponseEntity<?> getReservationByCode(@PathVariable String reservationCode,
                                                  Authentication authentication) {
         String userEmail = authentication.getName();
         Optional<ReservationDto> reservation = reservationService.getReservationByCode(reservationCode, userEmail);
@@ -74,9 +112,19 @@ public class ReservationController {
     }
     
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<?> cancelReservation(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> cancelReservation(@PathVariable Long id,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                             Authentication authentication) {
+        String userEmail = authentication.getName();
+        if (idempotencyKey == null) {
+            return cancel(id, userEmail);
+        }
+        return idempotencyService.execute("cancel:" + userEmail + ":" + idempotencyKey, String.valueOf(id),
+                () -> cancel(id, userEmail));
+    }
+    
+    private ResponseEntity<?> cancel(Long id, String userEmail) {
         try {
-            String userEmail = authentication.getName();
             ReservationDto cancelledReservation = reservationService.cancelReservation(id, userEmail);
             return ResponseEntity.ok(cancelledReservation);
         } catch (RuntimeException e) {
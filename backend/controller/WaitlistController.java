@@ -0,0 +1,53 @@
+package com.eventreservation.controller;
+
+import com.eventreservation.dto.WaitlistEntryDto;
+import com.eventreservation.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/waitlist")
+@CrossOrigin(origins = "http://localhost:3000")
+public class WaitlistController {
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@Valid @RequestBody WaitlistEntryDto request, Authentication authentication) {
+        try {
+            WaitlistEntryDto entry = waitlistService.joinWaitlist(request, authentication.getName());
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryDto>> getUserWaitlist(Authentication authentication) {
+        List<WaitlistEntryDto> entries = waitlistService.getUserWaitlist(authentication.getName());
+        return ResponseEntity.ok(entries);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id, Authentication authentication) {
+        try {
+            WaitlistEntryDto entry = waitlistService.leaveWaitlist(id, authentication.getName());
+            return ResponseEntity.ok(entry);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.eventreservation.dto;
+
+import com.eventreservation.model.EventCategory;
+import com.eventreservation.model.EventStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class EventSummaryDto {
+    
+    private Long id;
+    private String title;
+    private LocalDateTime eventDateTime;
+    private LocalDateTime endDateTime;
+    private String venue;
+    private BigDecimal price;
+    private EventCategory category;
+    private EventStatus status;
+    private String imageUrl;
+    private Integer totalCapacity;
+    private Integer availableCapacity;
+    
+    // Constructors
+    public EventSummaryDto() {}
+    
+    // Used by the JPQL constructor expressions in EventRepository
+    public EventSummaryDto(Long id, String title, LocalDateTime eventDateTime, LocalDateTime endDateTime,
+                           String venue, BigDecimal price, EventCategory category, EventStatus status,
+                           String imageUrl, Integer totalCapacity, Integer availableCapacity) {
+        this.id = id;
+        this.title = title;
+        this.eventDateTime = eventDateTime;
+        this.endDateTime = endDateTime;
+        this.venue = venue;
+        this.price = price;
+        this.category = category;
+        this.status = status;
+        this.imageUrl = imageUrl;
+        this.totalCapacity = totalCapacity;
+        this.availableCapacity = availableCapacity;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public LocalDateTime getEventDateTime() { return eventDateTime; }
+    public void setEventDateTime(LocalDateTime eventDateTime) { this.eventDateTime = eventDateTime; }
+    
+    public LocalDateTime getEndDateTime() { return endDateTime; }
+    public void setEndDateTime(LocalDateTime endDateTime) { this.endDateTime = endDateTime; }
+    
+    public String getVenue() { return venue; }
+    public void setVenue(String venue) { this.venue = venue; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public EventCategory getCategory() { return category; }
+    public void setCategory(EventCategory category) { this.category = category; }
+    
+    public EventStatus getStatus() { return status; }
+    public void setStatus(EventStatus status) { this.status = status; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public Integer getTotalCapacity() { return totalCapacity; }
+    public void setTotalCapacity(Integer totalCapacity) { this.totalCapacity = totalCapacity; }
+    
+    public Integer getAvailableCapacity() { return availableCapacity; }
+    public void setAvailableCapacity(Integer availableCapacity) { this.availableCapacity = availableCapacity; }
+}
\ No newline at end of file
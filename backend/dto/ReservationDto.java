@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class ReservationDto {
     
@@ -25,6 +26,8 @@ public class ReservationDto {
     private String status;
     private String reservationCode;
     private String specialRequests;
+    // Seat labels for events with assigned seating
+    private List<String> seats;
     private LocalDateTime createdAt;
     
     // User information
@@ -71,6 +74,9 @@ public class ReservationDto {
     public String getSpecialRequests() { return specialRequests; }
     public void setSpecialRequests(String specialRequests) { this.specialRequests = specialRequests; }
     
+    public List<String> getSeats() { return seats; }
+    public void setSeats(List<String> seats) { this.seats = seats; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
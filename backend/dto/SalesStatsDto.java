@@ -0,0 +1,50 @@
+package com.eventreservation.dto;
+
+import java.math.BigDecimal;
+
+public class SalesStatsDto {
+    
+    private Long eventId;
+    private String category;
+    private long reservations;
+    private long ticketsSold;
+    private BigDecimal revenue;
+    private long cancellations;
+    private long cancelledTickets;
+    
+    // Constructors
+    public SalesStatsDto() {}
+    
+    public SalesStatsDto(Long eventId, String category, long reservations, long ticketsSold,
+                         BigDecimal revenue, long cancellations, long cancelledTickets) {
+        this.eventId = eventId;
+        this.category = category;
+        this.reservations = reservations;
+        this.ticketsSold = ticketsSold;
+        this.revenue = revenue;
+        this.cancellations = cancellations;
+        this.cancelledTickets = cancelledTickets;
+    }
+    
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public long getReservations() { return reservations; }
+    public void setReservations(long reservations) { this.reservations = reservations; }
+    
+    public long getTicketsSold() { return ticketsSold; }
+    public void setTicketsSold(long ticketsSold) { this.ticketsSold = ticketsSold; }
+    
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    
+    public long getCancellations() { return cancellations; }
+    public void setCancellations(long cancellations) { this.cancellations = cancellations; }
+    
+    public long getCancelledTickets() { return cancelledTickets; }
+    public void setCancelledTickets(long cancelledTickets) { this.cancelledTickets = cancelledTickets; }
+}
\ No newline at end of file
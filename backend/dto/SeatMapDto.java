@@ -0,0 +1,23 @@
+package com.eventreservation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class SeatMapDto {
+    
+    @NotEmpty(message = "At least one section is required")
+    private List<@Valid SeatSectionDto> sections;
+    
+    // Constructors
+    public SeatMapDto() {}
+    
+    public SeatMapDto(List<SeatSectionDto> sections) {
+        this.sections = sections;
+    }
+    
+    // Getters and Setters
+    public List<SeatSectionDto> getSections() { return sections; }
+    public void setSections(List<SeatSectionDto> sections) { this.sections = sections; }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.eventreservation.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class SeatSectionDto {
+    
+    @NotBlank(message = "Section name is required")
+    private String name;
+    
+    @NotNull(message = "Priority is required")
+    @PositiveOrZero(message = "Priority must not be negative")
+    private Integer priority;
+    
+    @NotNull(message = "Row count is required")
+    @Positive(message = "Row count must be positive")
+    @Max(value = 702, message = "A section can have at most 702 rows")
+    private Integer rowCount;
+    
+    @NotNull(message = "Seats per row is required")
+    @Positive(message = "Seats per row must be positive")
+    @Max(value = 1000, message = "A row can have at most 1000 seats")
+    private Integer seatsPerRow;
+    
+    // Constructors
+    public SeatSectionDto() {}
+    
+    public SeatSectionDto(String name, Integer priority, Integer rowCount, Integer seatsPerRow) {
+        this.name = name;
+        this.priority = priority;
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    
+    public Integer getRowCount() { return rowCount; }
+    public void setRowCount(Integer rowCount) { this.rowCount = rowCount; }
+    
+    public Integer getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(Integer seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+}
\ No newline at end of file
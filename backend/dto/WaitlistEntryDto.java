@@ -0,0 +1,53 @@
+package com.eventreservation.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+public class WaitlistEntryDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Event ID is required")
+    private Long eventId;
+    
+    private String eventTitle;
+    
+    @NotNull(message = "Number of tickets is required")
+    @Positive(message = "Number of tickets must be positive")
+    private Integer numberOfTickets;
+    
+    private String status;
+    private Long position;
+    private Long reservationId;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public WaitlistEntryDto() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public String getEventTitle() { return eventTitle; }
+    public void setEventTitle(String eventTitle) { this.eventTitle = eventTitle; }
+    
+    public Integer getNumberOfTickets() { return numberOfTickets; }
+    public void setNumberOfTickets(Integer numberOfTickets) { this.numberOfTickets = numberOfTickets; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
\ No newline at end of file
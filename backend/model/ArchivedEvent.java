@@ -0,0 +1,128 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only copy of a finished event, moved out of the hot events table by EventLifecycleService
+@Entity
+@Table(name = "events_archive", indexes = @Index(name = "idx_events_archive_date", columnList = "event_date_time"))
+public class ArchivedEvent {
+    
+    @Id
+    private Long id;
+    
+    private String title;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    @Column(name = "event_date_time")
+    private LocalDateTime eventDateTime;
+    
+    @Column(name = "end_date_time")
+    private LocalDateTime endDateTime;
+    
+    private String venue;
+    
+    @Column(name = "venue_address")
+    private String venueAddress;
+    
+    @Column(name = "total_capacity")
+    private Integer totalCapacity;
+    
+    @Column(name = "available_capacity")
+    private Integer availableCapacity;
+    
+    @Column(precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Enumerated(EnumType.STRING)
+    private EventCategory category;
+    
+    @Enumerated(EnumType.STRING)
+    private EventStatus status;
+    
+    @Column(name = "image_url")
+    private String imageUrl;
+    
+    @Column(name = "organizer_name")
+    private String organizerName;
+    
+    @Column(name = "organizer_email")
+    private String organizerEmail;
+    
+    @Column(name = "organizer_phone")
+    private String organizerPhone;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedEvent() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public LocalDateTime getEventDateTime() { return eventDateTime; }
+    public void setEventDateTime(LocalDateTime eventDateTime) { this.eventDateTime = eventDateTime; }
+    
+    public LocalDateTime getEndDateTime() { return endDateTime; }
+    public void setEndDateTime(LocalDateTime endDateTime) { this.endDateTime = endDateTime; }
+    
+    public String getVenue() { return venue; }
+    public void setVenue(String venue) { this.venue = venue; }
+    
+    public String getVenueAddress() { return venueAddress; }
+    public void setVenueAddress(String venueAddress) { this.venueAddress = venueAddress; }
+    
+    public Integer getTotalCapacity() { return totalCapacity; }
+    public void setTotalCapacity(Integer totalCapacity) { this.totalCapacity = totalCapacity; }
+    
+    public Integer getAvailableCapacity() { return availableCapacity; }
+    public void setAvailableCapacity(Integer availableCapacity) { this.availableCapacity = availableCapacity; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public EventCategory getCategory() { return category; }
+    public void setCategory(EventCategory category) { this.category = category; }
+    
+    public EventStatus getStatus() { return status; }
+    public void setStatus(EventStatus status) { this.status = status; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public String getOrganizerName() { return organizerName; }
+    public void setOrganizerName(String organizerName) { this.organizerName = organizerName; }
+    
+    public String getOrganizerEmail() { return organizerEmail; }
+    public void setOrganizerEmail(String organizerEmail) { this.organizerEmail = organizerEmail; }
+    
+    public String getOrganizerPhone() { return organizerPhone; }
+    public void setOrganizerPhone(String organizerPhone) { this.organizerPhone = organizerPhone; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
\ No newline at end of file
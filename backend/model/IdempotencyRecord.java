@@ -0,0 +1,54 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Completed response for an Idempotency-Key, kept so replays survive a restart or hit another node
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "record_key", length = 400)
+    private String key;
+    
+    @Column(name = "fingerprint", nullable = false)
+    private String fingerprint;
+    
+    @Column(name = "status_code", nullable = false)
+    private Integer statusCode;
+    
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String key, String fingerprint, Integer statusCode, String body, LocalDateTime expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.statusCode = statusCode;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    
+    public Integer getStatusCode() { return statusCode; }
+    public void setStatusCode(Integer statusCode) { this.statusCode = statusCode; }
+    
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
\ No newline at end of file
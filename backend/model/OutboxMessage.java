@@ -0,0 +1,117 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+// An email written in the same transaction as the change it reports, and sent later by the dispatcher
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_due", columnList = "status, priority, next_attempt_at"),
+        @Index(name = "idx_outbox_lease", columnList = "lease_owner")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class OutboxMessage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 50)
+    private String type;
+    
+    @Column(nullable = false)
+    private String recipient;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String body;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+    
+    // Lower goes first, so a bulk reminder run can't hold up booking confirmations
+    @Column(nullable = false)
+    private Integer priority = 0;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    // Also pushed forward while a dispatcher holds the lease, so a crashed sender's messages come back
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+    
+    // Constructors
+    public OutboxMessage() {}
+    
+    public OutboxMessage(String type, String recipient, String subject, String body, Integer priority) {
+        this.type = type;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.priority = priority;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+    
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+    
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
\ No newline at end of file
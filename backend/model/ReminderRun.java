@@ -0,0 +1,69 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Checkpoint for one event's reminder fan-out: reservations up to lastReservationId have been queued
+@Entity
+@Table(name = "reminder_runs")
+public class ReminderRun {
+    
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    @Column(name = "last_reservation_id", nullable = false)
+    private Long lastReservationId = 0L;
+    
+    @Column(nullable = false)
+    private Integer enqueued = 0;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    // Two instances working the same event conflict here instead of both queueing the chunk
+    @Version
+    private Long version;
+    
+    public enum Status {
+        RUNNING, DONE
+    }
+    
+    // Constructors
+    public ReminderRun() {}
+    
+    public ReminderRun(Long eventId) {
+        this.eventId = eventId;
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public Long getLastReservationId() { return lastReservationId; }
+    public void setLastReservationId(Long lastReservationId) { this.lastReservationId = lastReservationId; }
+    
+    public Integer getEnqueued() { return enqueued; }
+    public void setEnqueued(Integer enqueued) { this.enqueued = enqueued; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
\ No newline at end of file
@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Reservation {
     
+    // Confirmed reservations can be cancelled until this many hours before the event starts
+    public static final int CANCELLATION_CUTOFF_HOURS = 24;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -71,7 +74,7 @@ public class Reservation {
     
     public boolean canBeCancelled() {
         return status == ReservationStatus.CONFIRMED && 
-               event.getEventDateTime().isAfter(LocalDateTime.now().plusHours(24));
+               event.getEventDateTime().isAfter(LocalDateTime.now().plusHours(CANCELLATION_CUTOFF_HOURS));
     }
     
     // Getters and Setters
@@ -0,0 +1,48 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+
+// The unique key is what stops two instances selling the same seat
+@Entity
+@Table(name = "seat_assignments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_seat_assignments_seat", columnNames = {"event_id", "seat_index"})
+}, indexes = {
+        @Index(name = "idx_seat_assignments_reservation", columnList = "reservation_id")
+})
+public class SeatAssignment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "seat_index", nullable = false)
+    private Integer seatIndex;
+    
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+    
+    // Constructors
+    public SeatAssignment() {}
+    
+    public SeatAssignment(Long eventId, Integer seatIndex, Long reservationId) {
+        this.eventId = eventId;
+        this.seatIndex = seatIndex;
+        this.reservationId = reservationId;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public Integer getSeatIndex() { return seatIndex; }
+    public void setSeatIndex(Integer seatIndex) { this.seatIndex = seatIndex; }
+    
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+}
\ No newline at end of file
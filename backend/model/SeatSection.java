@@ -0,0 +1,72 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+
+// A block of equally sized rows; seats are numbered from firstSeatIndex, row by row, front row first
+@Entity
+@Table(name = "seat_sections", indexes = {
+        @Index(name = "idx_seat_sections_event", columnList = "event_id, priority")
+})
+public class SeatSection {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    // Lower is better; best-available search goes through sections in this order
+    @Column(nullable = false)
+    private Integer priority;
+    
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+    
+    @Column(name = "seats_per_row", nullable = false)
+    private Integer seatsPerRow;
+    
+    @Column(name = "first_seat_index", nullable = false)
+    private Integer firstSeatIndex;
+    
+    // Constructors
+    public SeatSection() {}
+    
+    public SeatSection(Long eventId, String name, Integer priority, Integer rowCount, Integer seatsPerRow, Integer firstSeatIndex) {
+        this.eventId = eventId;
+        this.name = name;
+        this.priority = priority;
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+        this.firstSeatIndex = firstSeatIndex;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    
+    public Integer getRowCount() { return rowCount; }
+    public void setRowCount(Integer rowCount) { this.rowCount = rowCount; }
+    
+    public Integer getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(Integer seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+    
+    public Integer getFirstSeatIndex() { return firstSeatIndex; }
+    public void setFirstSeatIndex(Integer firstSeatIndex) { this.firstSeatIndex = firstSeatIndex; }
+    
+    public int getSeatCount() {
+        return rowCount * seatsPerRow;
+    }
+}
\ No newline at end of file
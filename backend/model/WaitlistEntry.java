@@ -0,0 +1,96 @@
+package com.eventreservation.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+// One user's place in an event's queue; ids are issued in join order, which is the FIFO order.
+// waiting_user_id is the user id only while the entry is live, so the unique key allows one live
+// entry per user and event but any number of finished ones (nulls never collide).
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_waitlist_waiting_user", columnNames = {"event_id", "waiting_user_id"})
+}, indexes = {
+        @Index(name = "idx_waitlist_event_status", columnList = "event_id, status, id"),
+        @Index(name = "idx_waitlist_user", columnList = "user_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "waiting_user_id")
+    private Long waitingUserId;
+    
+    @Column(name = "number_of_tickets", nullable = false)
+    private Integer numberOfTickets;
+    
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.WAITING;
+    
+    @Column(name = "reservation_id")
+    private Long reservationId;
+    
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public WaitlistEntry() {}
+    
+    public WaitlistEntry(Long eventId, Long userId, Integer numberOfTickets) {
+        this.eventId = eventId;
+        this.userId = userId;
+        this.waitingUserId = userId;
+        this.numberOfTickets = numberOfTickets;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getNumberOfTickets() { return numberOfTickets; }
+    public void setNumberOfTickets(Integer numberOfTickets) { this.numberOfTickets = numberOfTickets; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) {
+        this.status = status;
+        this.waitingUserId = status == Status.WAITING || status == Status.PROMOTING ? userId : null;
+    }
+    
+    public Long getWaitingUserId() { return waitingUserId; }
+    
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public enum Status {
+        WAITING, PROMOTING, PROMOTED, LEFT, SKIPPED, EXPIRED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.ArchivedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+    
+    Page<ArchivedEvent> findByEventDateTimeBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+    
+    @Modifying
+    @Query(value = "INSERT INTO events_archive (id, title, description, event_date_time, end_date_time, venue, venue_address, " +
+                   "total_capacity, available_capacity, price, category, status, image_url, organizer_name, organizer_email, " +
+                   "organizer_phone, created_at, updated_at, archived_at) " +
+                   "SELECT id, title, description, event_date_time, end_date_time, venue, venue_address, " +
+                   "total_capacity, available_capacity, price, category, status, image_url, organizer_name, organizer_email, " +
+                   "organizer_phone, created_at, updated_at, :archivedAt FROM events WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromEvents(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.ArchivedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+    
+    List<ArchivedReservation> findByEventIdOrderByCreatedAtAsc(Long eventId);
+    
+    List<ArchivedReservation> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO reservations_archive (id, user_id, event_id, number_of_tickets, total_amount, status, " +
+                   "reservation_code, special_requests, created_at, updated_at, archived_at) " +
+                   "SELECT id, user_id, event_id, number_of_tickets, total_amount, status, " +
+                   "reservation_code, special_requests, created_at, updated_at, :archivedAt " +
+                   "FROM reservations WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int copyFromReservations(@Param("eventIds") List<Long> eventIds, @Param("archivedAt") LocalDateTime archivedAt);
+    
+    // Same shape as ReservationRepository.aggregateSalesByEventAndStatus, so archived sales stay in the stats
+    @Query("SELECT r.eventId, e.category, r.status, COUNT(r), SUM(r.numberOfTickets), SUM(r.totalAmount) " +
+           "FROM ArchivedReservation r, ArchivedEvent e WHERE e.id = r.eventId GROUP BY r.eventId, e.category, r.status")
+    List<Object[]> aggregateArchivedSales();
+}
\ No newline at end of file
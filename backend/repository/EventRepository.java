@@ -1,11 +1,13 @@
 package com.eventreservation.repository;
 
+import com.eventreservation.dto.EventSummaryDto;
 import com.eventreservation.model.Event;
 import com.eventreservation.model.EventCategory;
 import com.eventreservation.model.EventStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +16,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
     
     List<Event> findByStatus(EventStatus status);
     
@@ -39,4 +41,61 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     @Query("SELECT e FROM Event e WHERE e.eventDateTime BETWEEN :startDate AND :endDate ORDER BY e.eventDateTime ASC")
     List<Event> findEventsBetweenDates(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT e.id FROM Event e WHERE e.status = 'ACTIVE' AND COALESCE(e.endDateTime, e.eventDateTime) < :cutoff ORDER BY e.id")
+    List<Long> findIdsToComplete(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Query("SELECT e.id FROM Event e WHERE e.status IN ('COMPLETED', 'CANCELLED') AND " +
+           "COALESCE(e.endDateTime, e.eventDateTime) < :cutoff ORDER BY e.id")
+    List<Long> findIdsToArchive(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    // Sets updatedAt like an entity save would, since the catalog validators are derived from it
+    @Query("UPDATE Event e SET e.status = 'COMPLETED', e.updatedAt = :now WHERE e.id IN :ids AND e.status = 'ACTIVE'")
+    int markCompleted(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+    
+    // Conditional updates so the check and the write are one statement; callers test for a row count of 1
+    @Modifying
+    @Query("UPDATE Event e SET e.availableCapacity = e.availableCapacity - :count " +
+           "WHERE e.id = :id AND e.status = 'ACTIVE' AND e.eventDateTime > :now AND e.availableCapacity >= :count")
+    int decreaseAvailableCapacity(@Param("id") Long id, @Param("count") int count, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Event e SET e.availableCapacity = CASE WHEN e.availableCapacity + :count > e.totalCapacity " +
+           "THEN e.totalCapacity ELSE e.availableCapacity + :count END WHERE e.id = :id")
+    int increaseAvailableCapacity(@Param("id") Long id, @Param("count") int count);
+    
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+    
+    // What the catalog validators are derived from: the count catches deletes, which leave no newer updatedAt behind
+    @Query("SELECT MAX(e.updatedAt), COUNT(e) FROM Event e")
+    List<Object[]> findCatalogVersion();
+    
+    // updatedAt doesn't move on bookings, so the event's validator carries its capacity as well
+    @Query("SELECT e.updatedAt, e.availableCapacity FROM Event e WHERE e.id = :id")
+    List<Object[]> findEventVersion(@Param("id") Long id);
+    
+    // Just what EventCalendarIndex needs: id, eventDateTime, endDateTime, status, updatedAt
+    @Query("SELECT e.id, e.eventDateTime, e.endDateTime, e.status, e.updatedAt FROM Event e")
+    List<Object[]> findAllEventIntervals();
+    
+    String SUMMARY_SELECT = "SELECT new com.eventreservation.dto.EventSummaryDto(e.id, e.title, e.eventDateTime, e.endDateTime, " +
+                            "e.venue, e.price, e.category, e.status, e.imageUrl, e.totalCapacity, e.availableCapacity) FROM Event e ";
+    
+    @Query(SUMMARY_SELECT + "WHERE e.status = 'ACTIVE' AND e.eventDateTime > :now ORDER BY e.eventDateTime ASC")
+    List<EventSummaryDto> findUpcomingEventSummaries(@Param("now") LocalDateTime now);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.status = 'ACTIVE' AND e.eventDateTime > :now AND e.availableCapacity > 0 ORDER BY e.eventDateTime ASC")
+    List<EventSummaryDto> findBookableEventSummaries(@Param("now") LocalDateTime now);
+    
+    // Ranked by how many of the user's confirmed bookings share the event's category, so the database
+    // applies the limit instead of the caller sorting every bookable event
+    @Query(SUMMARY_SELECT + "WHERE e.status = 'ACTIVE' AND e.eventDateTime > :now AND e.availableCapacity > 0 " +
+           "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.event = e AND r.user.id = :userId AND r.status = 'CONFIRMED') " +
+           "ORDER BY (SELECT COUNT(DISTINCT b.event.id) FROM Reservation b " +
+           "WHERE b.user.id = :userId AND b.status = 'CONFIRMED' AND b.event.category = e.category) DESC, e.eventDateTime ASC")
+    List<EventSummaryDto> findRecommendedEventSummaries(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                        Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.eventreservation.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface EventRepositoryCustom {
+    
+    List<Map<String, Object>> findUpcomingEventFields(Collection<String> fields, LocalDateTime now, boolean bookableOnly);
+}
\ No newline at end of file
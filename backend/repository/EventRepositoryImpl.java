@@ -0,0 +1,77 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.EventStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+    
+    // Basic columns a client may ask for; the reservations association is never selectable
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+        "id", "title", "description", "eventDateTime", "endDateTime", "venue", "venueAddress",
+        "totalCapacity", "availableCapacity", "price", "category", "status", "imageUrl",
+        "organizerName", "organizerEmail", "organizerPhone", "createdAt", "updatedAt"
+    );
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findUpcomingEventFields(Collection<String> fields, LocalDateTime now, boolean bookableOnly) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        for (String field : fields) {
+            if (!SELECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            columns.add(field);
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+        
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            selections.add(event.get(column).alias(column));
+        }
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(event.get("status"), EventStatus.ACTIVE));
+        predicates.add(cb.greaterThan(event.get("eventDateTime"), now));
+        if (bookableOnly) {
+            predicates.add(cb.greaterThan(event.get("availableCapacity"), 0));
+        }
+        
+        query.multiselect(selections)
+             .where(predicates.toArray(new Predicate[0]))
+             .orderBy(cb.asc(event.get("eventDateTime")));
+        
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+    
+    @Query("SELECT m.id FROM OutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now ORDER BY m.priority, m.nextAttemptAt, m.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Rows another dispatcher claimed in the meantime no longer match and are left alone
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.leaseOwner = :owner, m.nextAttemptAt = :leaseUntil " +
+           "WHERE m.id IN :ids AND m.status = 'PENDING' AND m.nextAttemptAt <= :now")
+    int lease(@Param("ids") List<Long> ids, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    List<OutboxMessage> findByLeaseOwnerOrderById(String leaseOwner);
+    
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'SENT', m.sentAt = :sentAt, m.leaseOwner = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Includes leased PENDING rows: a lease is minutes long, retention is days
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status <> 'SENT' AND m.createdAt < :cutoff")
+    int deleteUnsentCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    long countByStatus(OutboxMessage.Status status);
+}
\ No newline at end of file
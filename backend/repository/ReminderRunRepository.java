@@ -0,0 +1,24 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.ReminderRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReminderRunRepository extends JpaRepository<ReminderRun, Long> {
+    
+    // Active events starting inside the reminder window whose fan-out hasn't finished
+    @Query("SELECT e.id FROM Event e WHERE e.status = 'ACTIVE' AND e.eventDateTime > :now AND e.eventDateTime <= :until " +
+           "AND e.id NOT IN (SELECT r.eventId FROM ReminderRun r WHERE r.status = 'DONE') ORDER BY e.eventDateTime")
+    List<Long> findEventIdsDue(@Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    @Modifying
+    @Query("DELETE FROM ReminderRun r WHERE r.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") List<Long> eventIds);
+}
\ No newline at end of file
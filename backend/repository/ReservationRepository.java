@@ -2,11 +2,14 @@ package com.eventreservation.repository;
 
 import com.eventreservation.model.Reservation;
 import com.eventreservation.model.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,11 +30,34 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
     List<Reservation> findConfirmedReservationsByEvent(@Param("eventId") Long eventId);
     
+    // Keyset cursor over the same rows, so a large event can be walked chunk by chunk and resumed from an id
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user WHERE r.event.id = :eventId AND r.status = 'CONFIRMED' " +
+           "AND r.id > :afterId ORDER BY r.id")
+    List<Reservation> findConfirmedReservationsByEventAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+    
     @Query("SELECT SUM(r.numberOfTickets) FROM Reservation r WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
     Integer getTotalConfirmedTicketsByEvent(@Param("eventId") Long eventId);
     
     @Query("SELECT r FROM Reservation r JOIN FETCH r.event WHERE r.user.id = :userId ORDER BY r.event.eventDateTime ASC")
     List<Reservation> findUserReservationsWithEvents(@Param("userId") Long userId);
     
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.event WHERE r.user.id = :userId AND r.status = 'CONFIRMED' " +
+           "AND r.event.eventDateTime > :now ORDER BY r.event.eventDateTime ASC")
+    List<Reservation> findUpcomingUserReservations(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+    
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
+    
+    @Query("SELECT r.event.id, r.event.category, r.status, COUNT(r), SUM(r.numberOfTickets), SUM(r.totalAmount) " +
+           "FROM Reservation r GROUP BY r.event.id, r.event.category, r.status")
+    List<Object[]> aggregateSalesByEventAndStatus();
+    
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'COMPLETED' WHERE r.event.id IN :eventIds AND r.status = 'CONFIRMED'")
+    int markCompletedForEvents(@Param("eventIds") List<Long> eventIds);
+    
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.event.id IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") List<Long> eventIds);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.SeatAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatAssignmentRepository extends JpaRepository<SeatAssignment, Long> {
+    
+    @Query("SELECT a.seatIndex FROM SeatAssignment a WHERE a.eventId = :eventId")
+    List<Integer> findTakenSeats(@Param("eventId") Long eventId);
+    
+    @Query("SELECT a.seatIndex FROM SeatAssignment a WHERE a.reservationId = :reservationId ORDER BY a.seatIndex")
+    List<Integer> findSeatsByReservationId(@Param("reservationId") Long reservationId);
+    
+    boolean existsByEventId(Long eventId);
+    
+    // Seated events whose sold tickets or capacity disagree with their seat assignments or layout
+    @Query("SELECT e.id FROM Event e WHERE EXISTS (SELECT s.id FROM SeatSection s WHERE s.eventId = e.id) AND (" +
+           "e.totalCapacity - e.availableCapacity <> (SELECT COUNT(a) FROM SeatAssignment a WHERE a.eventId = e.id) " +
+           "OR e.totalCapacity <> (SELECT SUM(s.rowCount * s.seatsPerRow) FROM SeatSection s WHERE s.eventId = e.id))")
+    List<Long> findInconsistentEventIds();
+    
+    @Modifying
+    @Query("DELETE FROM SeatAssignment a WHERE a.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+    
+    @Modifying
+    @Query("DELETE FROM SeatAssignment a WHERE a.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") List<Long> eventIds);
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.SeatSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatSectionRepository extends JpaRepository<SeatSection, Long> {
+    
+    List<SeatSection> findByEventIdOrderByPriorityAscIdAsc(Long eventId);
+    
+    @Modifying
+    @Query("DELETE FROM SeatSection s WHERE s.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") List<Long> eventIds);
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.eventreservation.repository;
+
+import com.eventreservation.model.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.status = 'WAITING' AND w.id > :afterId ORDER BY w.id ASC")
+    List<WaitlistEntry> findWaitingAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.status = 'WAITING' AND w.id < :id")
+    long countAhead(@Param("eventId") Long eventId, @Param("id") Long id);
+    
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.status = 'WAITING' AND w.numberOfTickets <= :tickets")
+    boolean hasWaitingWithin(@Param("eventId") Long eventId, @Param("tickets") int tickets);
+    
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId AND w.status = 'WAITING'")
+    boolean isWaiting(@Param("eventId") Long eventId, @Param("userId") Long userId);
+    
+    @Query("SELECT DISTINCT w.eventId FROM WaitlistEntry w WHERE w.status = 'WAITING'")
+    List<Long> findEventIdsWithWaiting();
+    
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // Only one allocator can move an entry out of WAITING, whichever instance it runs on
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'PROMOTING' WHERE w.id = :id AND w.status = 'WAITING'")
+    int claim(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'LEFT', w.waitingUserId = NULL WHERE w.id = :id AND w.status = 'WAITING'")
+    int leave(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED', w.waitingUserId = NULL WHERE w.eventId IN :eventIds AND w.status = 'WAITING'")
+    int expireForEvents(@Param("eventIds") List<Long> eventIds);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.eventId IN :eventIds")
+    int deleteByEventIds(@Param("eventIds") List<Long> eventIds);
+}
\ No newline at end of file
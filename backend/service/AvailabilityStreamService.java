@@ -0,0 +1,147 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class AvailabilityStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStreamService.class);
+
+    @Value("${availability.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${availability.stream.timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // Latest pending snapshot per event; repeated changes between flushes overwrite each other
+    private final Map<Long, Map<String, Object>> pendingUpdates = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Event event) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many availability subscribers");
+        }
+
+        Long eventId = event.getId();
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        subscribers.compute(eventId, (id, emitters) -> {
+            Set<SseEmitter> target = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            target.add(emitter);
+            return target;
+        });
+
+        Runnable cleanup = () -> removeSubscriber(eventId, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+
+        try {
+            emitter.send(SseEmitter.event().name("availability").data(snapshot(event), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // Called by EventService whenever capacity or status changes. The snapshot is taken once the surrounding
+    // transaction commits, so it shows the committed state and nothing from a transaction that rolls back.
+    public void publish(Event event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(Event event) {
+        if (subscribers.containsKey(event.getId())) {
+            pendingUpdates.put(event.getId(), snapshot(event));
+        }
+    }
+
+    // Coalescing flush: each event gets at most one update per interval regardless of booking rate
+    @Scheduled(fixedRateString = "${availability.stream.flush-interval-ms:250}")
+    public void flushPendingUpdates() {
+        Iterator<Map.Entry<Long, Map<String, Object>>> iterator = pendingUpdates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Map<String, Object>> entry = iterator.next();
+            iterator.remove();
+            broadcast(entry.getKey(), SseEmitter.event().name("availability")
+                    .data(entry.getValue(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${availability.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Long eventId : subscribers.keySet()) {
+            broadcast(eventId, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Built once: build() appends the event terminator on every call, so the builder itself can't go to more than one emitter
+    private void broadcast(Long eventId, SseEmitter.SseEventBuilder message) {
+        Set<SseEmitter> emitters = subscribers.get(eventId);
+        if (emitters == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frames = message.build();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(frames);
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping availability subscriber for event {}: {}", eventId, e.getMessage());
+                removeSubscriber(eventId, emitter);
+            }
+        }
+    }
+
+    private void removeSubscriber(Long eventId, SseEmitter emitter) {
+        subscribers.computeIfPresent(eventId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private Map<String, Object> snapshot(Event event) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("eventId", event.getId());
+        update.put("availableCapacity", event.getAvailableCapacity());
+        update.put("totalCapacity", event.getTotalCapacity());
+        update.put("status", event.getStatus().name());
+        update.put("bookable", event.isBookable());
+        return update;
+    }
+}
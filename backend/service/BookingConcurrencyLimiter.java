@@ -0,0 +1,112 @@
+package com.eventreservation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for bookings, driven by how long createReservation actually takes. While
+ * bookings finish under the latency target and the limit is being used, it grows by about one per
+ * limit's worth of completions; a slow booking cuts it by the backoff ratio. Requests over the limit
+ * are shed before they open a transaction.
+ */
+@Service
+public class BookingConcurrencyLimiter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${booking.limiter.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${booking.limiter.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${booking.limiter.min-limit:4}")
+    private int minLimit;
+    
+    @Value("${booking.limiter.max-limit:200}")
+    private int maxLimit;
+    
+    @Value("${booking.limiter.target-latency-ms:250}")
+    private long targetLatencyMs;
+    
+    @Value("${booking.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoff;
+    private Counter shedCounter;
+    
+    @PostConstruct
+    void registerMeters() {
+        limit = initialLimit;
+        Gauge.builder("booking.concurrency.limit", this, BookingConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent bookings")
+                .register(meterRegistry);
+        Gauge.builder("booking.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Bookings currently admitted")
+                .register(meterRegistry);
+        shedCounter = Counter.builder("booking.shed")
+                .description("Bookings rejected by the concurrency limit")
+                .register(meterRegistry);
+    }
+    
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                shedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    public void release(long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        int admitted = inFlight.getAndDecrement();
+        onSample(latencyNanos, admitted);
+    }
+    
+    // Frees the slot without a latency sample, for bookings rejected before they did real work
+    public void release() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    private synchronized void onSample(long latencyNanos, int admitted) {
+        long target = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        if (latencyNanos > target) {
+            // Back off at most once per target interval; one slow spell ends many requests at once
+            long now = System.nanoTime();
+            if (now - lastBackoff > target) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastBackoff = now;
+            }
+        } else if (admitted * 2 >= limit) {
+            // Only grow when the limit is actually the constraint, otherwise idle periods inflate it
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,461 @@
+package com.eventreservation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of bookings, cancellations, capacity changes and event/user changes, written
+ * to memory-mapped segment files (journal-<first sequence>.seg) that roll at segment-size-mb.
+ *
+ * Frame: [int body length][int CRC32 of body][body]; a zero length marks the end of a segment's data,
+ * and a bad CRC on the last segment is treated as a torn write and cut off on open. Entries are
+ * queued after their transaction commits, so rolled-back work never appears, and written by a single
+ * writer thread that reads each row image when it gets to it; a row's last entry is therefore always
+ * its latest committed state. Request threads only enqueue, and a failed or dropped entry is logged
+ * and counted (journal.failures) instead of surfacing in the request that caused it.
+ */
+@Service
+public class BookingJournal {
+    
+    public static final String USERS = "users";
+    public static final String EVENTS = "events";
+    public static final String RESERVATIONS = "reservations";
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookingJournal.class);
+    private static final int FRAME_HEADER = 8;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${journal.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${journal.directory:data/journal}")
+    private String directory;
+    
+    @Value("${journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+    
+    @Value("${journal.max-queued:10000}")
+    private int maxQueued;
+    
+    private final Object appendLock = new Object();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(1024);
+    private final CRC32 crc = new CRC32();
+    private volatile long lastSequence;
+    private Segment active;
+    private ThreadPoolExecutor writer;
+    private Timer appendTimer;
+    private Counter failures;
+    
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = getDirectory();
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("journal-\\d{20}\\.seg")).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            segments.add(Segment.open(files.get(i), i == files.size() - 1));
+        }
+        if (segments.isEmpty()) {
+            active = createSegment(1);
+        } else {
+            active = segments.get(segments.size() - 1);
+            lastSequence = active.lastSequence > 0 ? active.lastSequence : active.firstSequence - 1;
+        }
+        
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxQueued), runnable -> {
+            Thread thread = new Thread(runnable, "journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        appendTimer = Timer.builder("journal.append").register(meterRegistry);
+        failures = meterRegistry.counter("journal.failures");
+        Gauge.builder("journal.sequence", this, j -> j.lastSequence).register(meterRegistry);
+        Gauge.builder("journal.queue", writer, w -> w.getQueue().size()).register(meterRegistry);
+        logger.info("Booking journal at {}: {} segment(s), last sequence {}", dir.toAbsolutePath(), segments.size(), lastSequence);
+    }
+    
+    // Lets the writer drain what's already queued before the final flush
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Journal writer did not drain in time; {} entries not written", writer.shutdownNow().size());
+            }
+        }
+        flush();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public Path getDirectory() {
+        return Paths.get(directory);
+    }
+    
+    public long getLastSequence() {
+        return lastSequence;
+    }
+    
+    // Journals the row as it stands once the current transaction commits (immediately if there is none)
+    public void recordRow(String table, Long id) {
+        afterCommit(() -> appendRowImage(table, id));
+    }
+    
+    public void recordDelete(String table, Long id) {
+        afterCommit(() -> append(JournalRecord.Type.DELETE, table, id, Map.of()));
+    }
+    
+    public void recordCapacity(Long eventId, int delta, int available, int total) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("delta", delta);
+        values.put("available_capacity", available);
+        values.put("total_capacity", total);
+        afterCommit(() -> append(JournalRecord.Type.CAPACITY, EVENTS, eventId, values));
+    }
+    
+    // Already after commit here, so queue directly; capacity changes have their own compact entries
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent change) {
+        switch (change.getChangeType()) {
+            case CREATED, UPDATED, STATUS -> enqueue(() -> appendRowImage(EVENTS, change.getEventId()));
+            case DELETED -> enqueue(() -> append(JournalRecord.Type.DELETE, EVENTS, change.getEventId(), Map.of()));
+            default -> { }
+        }
+    }
+    
+    private void afterCommit(Runnable append) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(append);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(append);
+            }
+        });
+    }
+    
+    private void enqueue(Runnable append) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer.execute(() -> {
+                try {
+                    append.run();
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    logger.error("Journal append failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failures.increment();
+            logger.error("Journal writer queue full ({} entries), entry dropped", maxQueued);
+        }
+    }
+    
+    // Runs on the writer thread, which is the only appender, so the read and the append can't interleave with another row's
+    private void appendRowImage(String table, Long id) {
+        List<Map<String, Object>> rows = jdbcTemplate.query("SELECT * FROM " + table + " WHERE id = ?",
+                (rs, rowNum) -> JournalRecord.readRow(rs), id);
+        if (rows.isEmpty()) {
+            append(JournalRecord.Type.DELETE, table, id, Map.of());
+        } else {
+            append(JournalRecord.Type.UPSERT, table, id, rows.get(0));
+        }
+    }
+    
+    private void append(JournalRecord.Type type, String table, Long id, Map<String, Object> values) {
+        long started = System.nanoTime();
+        synchronized (appendLock) {
+            try {
+                JournalRecord record = new JournalRecord(type, lastSequence + 1, System.currentTimeMillis(), table, id, values);
+                encoded.reset();
+                record.writeTo(new DataOutputStream(encoded));
+                int length = encoded.size();
+                if (active.position + FRAME_HEADER + length + FRAME_HEADER > active.buffer.capacity()) {
+                    if (FRAME_HEADER + length + FRAME_HEADER > active.buffer.capacity()) {
+                        logger.error("Journal entry for {} {} is larger than a segment, skipped", table, id);
+                        return;
+                    }
+                    active.buffer.force();
+                    active = createSegment(record.getSequence());
+                }
+                byte[] body = encoded.toByteArray();
+                crc.reset();
+                crc.update(body, 0, length);
+                ByteBuffer buffer = active.buffer;
+                int position = active.position;
+                buffer.put(position + FRAME_HEADER, body, 0, length);
+                buffer.putInt(position + 4, (int) crc.getValue());
+                // Length last, so a reader never sees a frame before its body is in place
+                buffer.putInt(position, length);
+                active.position = position + FRAME_HEADER + length;
+                active.lastSequence = record.getSequence();
+                lastSequence = record.getSequence();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        appendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("journal.appends", "type", type.name(), "table", table).increment();
+    }
+    
+    private Segment createSegment(long firstSequence) throws IOException {
+        Path path = getDirectory().resolve(String.format("journal-%020d.seg", firstSequence));
+        Segment segment = Segment.create(path, firstSequence, segmentSizeMb * 1024L * 1024L);
+        segments.add(segment);
+        return segment;
+    }
+    
+    // Page cache to disk; without this a process crash loses nothing, but a power cut can
+    @Scheduled(fixedDelayString = "${journal.flush-interval-ms:1000}")
+    public void flush() {
+        Segment segment = active;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+    
+    /**
+     * Feeds every entry with a sequence above afterSequence to the consumer, oldest first, decoding
+     * straight out of the mapped segments. Returns how many entries were replayed.
+     */
+    public int replay(long afterSequence, Consumer<JournalRecord> consumer) {
+        int replayed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            // Skip whole segments that end before the start point
+            if (i + 1 < segments.size() && segments.get(i + 1).firstSequence <= afterSequence + 1) {
+                continue;
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            int end = segment.position;
+            int position = 0;
+            while (position + FRAME_HEADER <= end) {
+                int length = view.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                JournalRecord record = decode(view.slice(position + FRAME_HEADER, length));
+                if (record.getSequence() > afterSequence) {
+                    consumer.accept(record);
+                    replayed++;
+                }
+                position += FRAME_HEADER + length;
+            }
+        }
+        return replayed;
+    }
+    
+    // For the admin tail: decoded entries from fromSequence on, with password hashes left out
+    public List<Map<String, Object>> read(long fromSequence, int limit) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        try {
+            replay(fromSequence - 1, record -> {
+                if (entries.size() >= limit) {
+                    throw new StopReading();
+                }
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("sequence", record.getSequence());
+                entry.put("timestamp", record.getTimestamp());
+                entry.put("type", record.getType().name());
+                entry.put("table", record.getTable());
+                entry.put("id", record.getId());
+                Map<String, Object> values = new LinkedHashMap<>(record.getValues());
+                values.remove("password");
+                entry.put("values", values);
+                entries.add(entry);
+            });
+        } catch (StopReading e) {
+            // Limit reached
+        }
+        return entries;
+    }
+    
+    public List<Map<String, Object>> listSegments() {
+        List<Map<String, Object>> listing = new ArrayList<>();
+        for (Segment segment : segments) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", segment.path.getFileName().toString());
+            entry.put("firstSequence", segment.firstSequence);
+            entry.put("bytes", segment.position);
+            entry.put("active", segment == active);
+            listing.add(entry);
+        }
+        return listing;
+    }
+    
+    // Drops segments whose entries are all at or below the sequence; the mapping goes when it's collected
+    public void deleteSegmentsThrough(long sequence) {
+        synchronized (appendLock) {
+            while (segments.size() > 1 && segments.get(0) != active && segments.get(1).firstSequence <= sequence + 1) {
+                Segment segment = segments.remove(0);
+                try {
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    logger.warn("Could not delete journal segment {}: {}", segment.path, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private static JournalRecord decode(ByteBuffer body) {
+        try {
+            return JournalRecord.readFrom(new DataInputStream(new ByteBufferInputStream(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static final class Segment {
+        
+        private final Path path;
+        private final long firstSequence;
+        private final MappedByteBuffer buffer;
+        private volatile int position;
+        private volatile long lastSequence;
+        
+        private Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+        }
+        
+        static Segment create(Path path, long firstSequence, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+        
+        // Finds the end of the written data; on the last segment a torn or corrupt tail is zeroed out
+        static Segment open(Path path, boolean last) throws IOException {
+            String name = path.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring("journal-".length(), name.length() - ".seg".length()));
+            Segment segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            }
+            ByteBuffer buffer = segment.buffer;
+            CRC32 crc = new CRC32();
+            int position = 0;
+            while (position + FRAME_HEADER <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + FRAME_HEADER + length > buffer.capacity()) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(position + FRAME_HEADER, length);
+                if (last) {
+                    crc.reset();
+                    crc.update(body.duplicate());
+                    if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                        logger.warn("Journal segment {} has a torn entry at byte {}, truncating", name, position);
+                        break;
+                    }
+                }
+                segment.lastSequence = body.getLong(1);
+                position += FRAME_HEADER + length;
+            }
+            if (last) {
+                // Clear whatever follows, so a torn entry can't be misread once this segment is no longer last
+                byte[] zeros = new byte[64 * 1024];
+                for (int i = position; i < buffer.capacity(); i += zeros.length) {
+                    buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.capacity() - i));
+                }
+            }
+            segment.position = position;
+            return segment;
+        }
+    }
+    
+    private static final class ByteBufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+        
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+    
+    private static final class StopReading extends RuntimeException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        StopReading() {
+            super(null, null, false, false);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.eventreservation.service;
+
+public class CatalogChangedEvent {
+    
+    private final Long eventId;
+    private final ChangeType changeType;
+    
+    public CatalogChangedEvent(Long eventId, ChangeType changeType) {
+        this.eventId = eventId;
+        this.changeType = changeType;
+    }
+    
+    public Long getEventId() { return eventId; }
+    
+    public ChangeType getChangeType() { return changeType; }
+    
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS, CAPACITY, DELETED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.eventreservation.service;
+
+import com.eventreservation.config.Workload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-rendered JSON for the public catalog reads, cached per key and ETag, so each version is rendered
+ * once however many requests ask for it, including requests that still carry an older ETag.
+ *
+ * A snapshot whose ETag is still current is served without touching the database. Otherwise one
+ * background refresh per key runs at a time, and the request waits up to
+ * catalog.stale.latency-budget-ms for it. If the refresh is slower than that, or fails, the last good
+ * snapshot is served marked stale (up to catalog.stale.max-stale-ms old), and the refresh keeps running
+ * so the next request gets fresh data.
+ */
+@Service
+public class CatalogSnapshotService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+    
+    // Below this size gzip framing costs more than it saves
+    private static final int MIN_GZIP_SIZE = 1024;
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${catalog.stale.latency-budget-ms:300}")
+    private long latencyBudgetMs;
+    
+    @Value("${catalog.stale.max-stale-ms:600000}")
+    private long maxStaleMs;
+    
+    @Value("${catalog.stale.max-entries:1000}")
+    private int maxEntries;
+    
+    @Value("${catalog.stale.refresh-threads:4}")
+    private int refreshThreads;
+    
+    @Value("${catalog.stale.max-queued-refreshes:100}")
+    private int maxQueuedRefreshes;
+    
+    // Rendered snapshots by key and ETag, and the most recently rendered one per key as the stale fallback
+    private Map<String, CatalogSnapshot> snapshots;
+    private Map<String, CatalogSnapshot> latest;
+    // The in-flight render per key, so concurrent misses share one query
+    private final Map<String, Refresh> refreshes = new ConcurrentHashMap<>();
+    private ExecutorService refresher;
+    private TransactionTemplate readOnlyTransaction;
+    private Counter staleServed;
+    private Counter refreshFailures;
+    
+    @PostConstruct
+    void initialize() {
+        snapshots = lruMap();
+        latest = lruMap();
+        AtomicInteger threads = new AtomicInteger();
+        refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedRefreshes), runnable -> {
+                    Thread thread = new Thread(runnable, "catalog-refresh-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        staleServed = meterRegistry.counter("catalog.snapshot.stale");
+        refreshFailures = meterRegistry.counter("catalog.snapshot.refresh.failures");
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    // Least recently used keys go first; search and paging keys would otherwise grow without bound
+    private Map<String, CatalogSnapshot> lruMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, CatalogSnapshot>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CatalogSnapshot> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+    
+    public CatalogSnapshot getSnapshot(CatalogView view) {
+        return getSnapshot(view.name(), catalogVersionService.getCatalogETag(), () -> switch (view) {
+            case UPCOMING -> eventService.getUpcomingEventSummaries();
+            case FEATURED -> eventService.getFeaturedEvents();
+            case BOOKABLE -> eventService.getBookableEventSummaries();
+        });
+    }
+    
+    // The ETag must be read before the load so a change committed mid-render triggers another one.
+    // A loader returning null is cached as "not found" (json() == null).
+    public CatalogSnapshot getSnapshot(String key, String etag, Supplier<?> loader) {
+        CatalogSnapshot rendered = snapshots.get(versionKey(key, etag));
+        if (rendered != null) {
+            return rendered;
+        }
+        
+        CatalogSnapshot snapshot = latest.get(key);
+        CompletableFuture<CatalogSnapshot> refresh = refresh(key, etag, loader);
+        if (snapshot == null || System.currentTimeMillis() - snapshot.renderedAt() > maxStaleMs) {
+            // Nothing usable to fall back on: wait as long as it takes, as an uncached read would
+            return await(refresh, key, etag, loader);
+        }
+        try {
+            return refresh.get(latencyBudgetMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            staleServed.increment();
+            return snapshot.asStale();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return snapshot.asStale();
+        }
+    }
+    
+    // One render per key at a time. A request for a newer ETag waits for the running render and then
+    // starts its own, so a burst of changes can't fill the pool with renders of the same key.
+    private CompletableFuture<CatalogSnapshot> refresh(String key, String etag, Supplier<?> loader) {
+        // A request chained behind another render may find its version already rendered by then
+        CatalogSnapshot rendered = snapshots.get(versionKey(key, etag));
+        if (rendered != null) {
+            return CompletableFuture.completedFuture(rendered);
+        }
+        Refresh created = new Refresh(etag, new CompletableFuture<>());
+        Refresh existing = refreshes.putIfAbsent(key, created);
+        if (existing != null) {
+            if (existing.etag().equals(etag)) {
+                return existing.result();
+            }
+            return existing.result()
+                    .handle((snapshot, failure) -> null)
+                    .thenCompose(ignored -> refresh(key, etag, loader));
+        }
+        try {
+            // Refresh threads query through the pool of the workload that asked for the data
+            refresher.execute(Workload.propagate(() -> {
+                CatalogSnapshot snapshot;
+                try {
+                    snapshot = render(key, etag, loader);
+                    store(key, snapshot);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    logger.warn("Catalog refresh for {} failed: {}", key, e.getMessage());
+                    refreshes.remove(key, created);
+                    created.result().completeExceptionally(e);
+                    return;
+                }
+                // Removed first, so requests chained on this render start their own instead of finding it again
+                refreshes.remove(key, created);
+                created.result().complete(snapshot);
+            }));
+        } catch (RejectedExecutionException e) {
+            refreshes.remove(key, created);
+            created.result().completeExceptionally(e);
+        }
+        return created.result();
+    }
+    
+    private CatalogSnapshot await(CompletableFuture<CatalogSnapshot> refresh, String key, String etag, Supplier<?> loader) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                // Refresh pool saturated and no fallback: render on the request thread, as before
+                CatalogSnapshot snapshot = render(key, etag, loader);
+                store(key, snapshot);
+                return snapshot;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private void store(String key, CatalogSnapshot snapshot) {
+        snapshots.put(versionKey(key, snapshot.etag()), snapshot);
+        // A slow render of an older version must not replace a newer one as the fallback
+        latest.merge(key, snapshot, (current, rendered) ->
+                rendered.renderedAt() >= current.renderedAt() ? rendered : current);
+    }
+    
+    private static String versionKey(String key, String etag) {
+        return key + ' ' + etag;
+    }
+    
+    // Rendered inside a read-only transaction so lazy associations serialize the way they do on request threads
+    private CatalogSnapshot render(String key, String etag, Supplier<?> loader) {
+        byte[] json = readOnlyTransaction.execute(status -> {
+            Object value = loader.get();
+            if (value == null) {
+                return null;
+            }
+            try {
+                return objectMapper.writeValueAsBytes(value);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to render catalog snapshot", e);
+            }
+        });
+        byte[] gzipped = json != null && json.length >= MIN_GZIP_SIZE ? gzip(json) : null;
+        logger.debug("Rendered catalog snapshot {}: {} bytes", key, json == null ? 0 : json.length);
+        return new CatalogSnapshot(etag, json, gzipped, System.currentTimeMillis(), false);
+    }
+    
+    private byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    public enum CatalogView {
+        UPCOMING, FEATURED, BOOKABLE
+    }
+    
+    private record Refresh(String etag, CompletableFuture<CatalogSnapshot> result) {}
+    
+    public record CatalogSnapshot(String etag, byte[] json, byte[] gzipped, long renderedAt, boolean stale) {
+        
+        CatalogSnapshot asStale() {
+            return new CatalogSnapshot(etag, json, gzipped, renderedAt, true);
+        }
+        
+        public long ageMillis() {
+            return Math.max(0, System.currentTimeMillis() - renderedAt);
+        }
+    }
+}
\ No newline at end of file
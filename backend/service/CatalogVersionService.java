@@ -0,0 +1,89 @@
+package com.eventreservation.service;
+
+import com.eventreservation.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * HTTP validators for the catalog, derived from what is stored rather than from counters in this
+ * process, so every instance behind the load balancer hands out the same ETag for the same data.
+ *
+ * Lists are versioned by the newest updatedAt and the event count. Bookings change capacity without
+ * touching updatedAt, so they leave list validators alone: list counts catch up at the next validator
+ * window and live counts come from the availability stream. A single event's validator includes its
+ * available capacity, so it does move on bookings.
+ */
+@Service
+public class CatalogVersionService {
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    // Lists depend on "now" (events drop out once they start), so validators also roll over per window
+    @Value("${catalog.validator-window-ms:60000}")
+    private long validatorWindow;
+    
+    // How long another instance's edits can go unnoticed; this instance's own edits apply on commit
+    @Value("${catalog.version-refresh-ms:1000}")
+    private long versionRefreshMs;
+    
+    private volatile CatalogVersion catalogVersion;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent change) {
+        if (change.getChangeType() != CatalogChangedEvent.ChangeType.CAPACITY) {
+            catalogVersion = null;
+        }
+    }
+    
+    public String getCatalogETag() {
+        CatalogVersion version = currentCatalogVersion();
+        return "\"c-" + Long.toString(version.lastModified(), 36) + "-" + version.events() + "-" + currentWindow() + "\"";
+    }
+    
+    public long getCatalogLastModified() {
+        return Math.max(currentCatalogVersion().lastModified(), currentWindowStart());
+    }
+    
+    // Null when the event doesn't exist, so a 404 goes out without a validator
+    public String getEventETag(Long eventId) {
+        List<Object[]> rows = eventRepository.findEventVersion(eventId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return "\"e" + eventId + "-" + Long.toString(toMillis((LocalDateTime) row[0]), 36) + "-" + row[1]
+                + "-" + currentWindow() + "\"";
+    }
+    
+    private CatalogVersion currentCatalogVersion() {
+        CatalogVersion version = catalogVersion;
+        long now = System.currentTimeMillis();
+        if (version == null || now - version.loadedAt() > versionRefreshMs) {
+            Object[] row = eventRepository.findCatalogVersion().get(0);
+            version = new CatalogVersion(toMillis((LocalDateTime) row[0]), ((Number) row[1]).longValue(), now);
+            catalogVersion = version;
+        }
+        return version;
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private long currentWindow() {
+        return System.currentTimeMillis() / validatorWindow;
+    }
+    
+    private long currentWindowStart() {
+        return currentWindow() * validatorWindow;
+    }
+    
+    private record CatalogVersion(long lastModified, long events, long loadedAt) {}
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.eventreservation.service;
+
+import com.eventreservation.config.Workload;
+import com.eventreservation.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the dashboard in one request: the user is resolved once, then the independent sections are
+ * loaded in parallel on a bounded pool. A section that times out, fails or can't get a worker comes
+ * back as null and is listed under "degraded" instead of failing the whole page.
+ */
+@Service
+public class DashboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ReservationService reservationService;
+    
+    @Autowired
+    private EventService eventService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${dashboard.max-concurrent:8}")
+    private int maxConcurrent;
+    
+    @Value("${dashboard.max-queued:32}")
+    private int maxQueued;
+    
+    @Value("${dashboard.section-timeout-ms:800}")
+    private long sectionTimeoutMs;
+    
+    @Value("${dashboard.reservations-limit:10}")
+    private int reservationsLimit;
+    
+    @Value("${dashboard.recommendations-limit:6}")
+    private int recommendationsLimit;
+    
+    private ThreadPoolExecutor workers;
+    
+    @PostConstruct
+    void initialize() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueued), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+    
+    // Empty when the account behind the token no longer exists
+    public Optional<Map<String, Object>> getDashboard(String userEmail) {
+        return userService.findByEmail(userEmail).map(this::buildDashboard);
+    }
+    
+    private Map<String, Object> buildDashboard(User user) {
+        Map<String, Callable<Object>> sections = new LinkedHashMap<>();
+        sections.put("upcomingReservations", () -> reservationService.getUpcomingReservations(user.getId(), reservationsLimit));
+        sections.put("recommendedEvents", () -> eventService.getRecommendedEventSummaries(user.getId(), recommendationsLimit));
+        
+        Map<String, Future<Object>> pending = new LinkedHashMap<>();
+        Map<String, String> degraded = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<Object>> section : sections.entrySet()) {
+            try {
+                pending.put(section.getKey(), workers.submit(Workload.propagate(timed(section.getKey(), section.getValue()))));
+            } catch (RejectedExecutionException e) {
+                record(section.getKey(), "busy", 0);
+                degraded.put(section.getKey(), "busy");
+            }
+        }
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("profile", profile(user));
+        // Sections run side by side, so they share one deadline rather than each getting the full timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        for (String name : sections.keySet()) {
+            response.put(name, null);
+            Future<Object> future = pending.get(name);
+            if (future == null) {
+                continue;
+            }
+            try {
+                response.put(name, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                record(name, "timeout", TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs));
+                degraded.put(name, "timeout");
+            } catch (ExecutionException e) {
+                logger.warn("Dashboard section {} failed for user {}", name, user.getId(), e.getCause());
+                degraded.put(name, "unavailable");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                degraded.put(name, "unavailable");
+            }
+        }
+        response.put("degraded", degraded);
+        return response;
+    }
+    
+    private Callable<Object> timed(String section, Callable<Object> loader) {
+        return () -> {
+            long started = System.nanoTime();
+            try {
+                Object result = loader.call();
+                record(section, "success", System.nanoTime() - started);
+                return result;
+            } catch (Exception e) {
+                record(section, "error", System.nanoTime() - started);
+                throw e;
+            }
+        };
+    }
+    
+    private void record(String section, String outcome, long nanos) {
+        Timer.builder("dashboard.section")
+                .description("Time to load one dashboard section")
+                .tag("section", section)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private Map<String, Object> profile(User user) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("id", user.getId());
+        profile.put("firstName", user.getFirstName());
+        profile.put("lastName", user.getLastName());
+        profile.put("email", user.getEmail());
+        profile.put("phoneNumber", user.getPhoneNumber());
+        profile.put("role", user.getRole().name());
+        profile.put("createdAt", user.getCreatedAt());
+        return profile;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.EventStatus;
+import com.eventreservation.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Day-bucketed index over each event's [eventDateTime, endDateTime]. An event is listed under every
+ * day it touches, so an overlap query is a sorted-map seek plus the buckets in the window; events
+ * longer than LONG_EVENT_DAYS are kept aside and checked directly instead of filling hundreds of
+ * buckets. Kept in step with the database through CatalogChangedEvent.
+ *
+ * Updates load the event first and only take the write lock to apply it, keeping the query off the
+ * lock; a row older (by updatedAt) than the one already indexed, or for an event since deleted, is
+ * dropped, so listeners finishing out of order can't bring back stale data. Queries hold the read lock
+ * and never see an event half moved.
+ */
+@Service
+public class EventCalendarIndex {
+    
+    private static final long LONG_EVENT_DAYS = 31;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private final Map<Long, Interval> intervals = new HashMap<>();
+    private final TreeMap<LocalDate, Set<Long>> days = new TreeMap<>();
+    private final Set<Long> longEvents = new HashSet<>();
+    // Ids are never reused, so a deleted event must not come back from a load that started before the delete
+    private final Set<Long> deleted = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            intervals.clear();
+            days.clear();
+            longEvents.clear();
+            deleted.clear();
+            for (Object[] row : eventRepository.findAllEventIntervals()) {
+                add(new Interval((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], (EventStatus) row[3],
+                        (LocalDateTime) row[4]));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent change) {
+        if (change.getChangeType() == CatalogChangedEvent.ChangeType.CAPACITY) {
+            return;
+        }
+        Event event = change.getChangeType() == CatalogChangedEvent.ChangeType.DELETED
+                ? null
+                : eventRepository.findById(change.getEventId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            apply(change.getEventId(), event == null ? null : new Interval(event.getId(), event.getEventDateTime(),
+                    event.getEndDateTime(), event.getStatus(), event.getUpdatedAt()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // A null interval means the event is gone
+    private void apply(Long id, Interval loaded) {
+        if (loaded == null) {
+            remove(id);
+            deleted.add(id);
+            return;
+        }
+        Interval current = intervals.get(id);
+        if (deleted.contains(id) || (current != null && loaded.isOlderThan(current))) {
+            return;
+        }
+        remove(id);
+        add(loaded);
+    }
+    
+    // Ids of events whose span overlaps [start, end], in start order; empty when end is before start
+    public List<Long> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return overlapping(start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private List<Long> overlapping(LocalDateTime start, LocalDateTime end) {
+        Set<Long> candidates = new HashSet<>(longEvents);
+        for (Set<Long> bucket : days.subMap(start.toLocalDate(), true, end.toLocalDate(), true).values()) {
+            candidates.addAll(bucket);
+        }
+        List<Interval> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Interval interval = intervals.get(id);
+            if (interval != null && interval.overlaps(start, end)) {
+                matches.add(interval);
+            }
+        }
+        matches.sort(Comparator.comparing(Interval::start));
+        return matches.stream().map(Interval::id).toList();
+    }
+    
+    // Active events on each day of the month, for calendar views; every day is present, zero or not
+    public Map<LocalDate, Integer> countActiveByDay(YearMonth month) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return activeByDay(month);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Map<LocalDate, Integer> activeByDay(YearMonth month) {
+        Map<LocalDate, Integer> counts = new LinkedHashMap<>();
+        for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+            counts.put(day, 0);
+        }
+        days.subMap(month.atDay(1), true, month.atEndOfMonth(), true).forEach((day, bucket) ->
+                counts.put(day, (int) bucket.stream().map(intervals::get).filter(this::isActive).count()));
+        for (Long id : longEvents) {
+            Interval interval = intervals.get(id);
+            if (!isActive(interval)) {
+                continue;
+            }
+            for (LocalDate day : counts.keySet()) {
+                if (interval.touches(day)) {
+                    counts.merge(day, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private boolean isActive(Interval interval) {
+        return interval != null && interval.status() == EventStatus.ACTIVE;
+    }
+    
+    private void ensureLoaded() {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    rebuild();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    private void add(Interval interval) {
+        intervals.put(interval.id(), interval);
+        LocalDate first = interval.start().toLocalDate();
+        LocalDate last = interval.end().toLocalDate();
+        if (ChronoUnit.DAYS.between(first, last) > LONG_EVENT_DAYS) {
+            longEvents.add(interval.id());
+            return;
+        }
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            days.computeIfAbsent(day, d -> new HashSet<>()).add(interval.id());
+        }
+    }
+    
+    private void remove(Long id) {
+        Interval interval = intervals.remove(id);
+        if (interval == null) {
+            return;
+        }
+        if (longEvents.remove(id)) {
+            return;
+        }
+        for (LocalDate day = interval.start().toLocalDate(); !day.isAfter(interval.end().toLocalDate()); day = day.plusDays(1)) {
+            days.computeIfPresent(day, (d, bucket) -> {
+                bucket.remove(id);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+    
+    // Events without an end time occupy just their start instant
+    private record Interval(Long id, LocalDateTime start, LocalDateTime end, EventStatus status, LocalDateTime updatedAt) {
+        
+        Interval {
+            if (end == null || end.isBefore(start)) {
+                end = start;
+            }
+        }
+        
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return !start.isAfter(to) && !end.isBefore(from);
+        }
+        
+        boolean touches(LocalDate day) {
+            return !start.toLocalDate().isAfter(day) && !end.toLocalDate().isBefore(day);
+        }
+        
+        // Rows without a timestamp can't be ordered, so they are always applied
+        boolean isOlderThan(Interval other) {
+            return updatedAt != null && other.updatedAt != null && updatedAt.isBefore(other.updatedAt);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.ArchivedEvent;
+import com.eventreservation.model.ArchivedReservation;
+import com.eventreservation.repository.ArchivedEventRepository;
+import com.eventreservation.repository.ArchivedReservationRepository;
+import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.ReminderRunRepository;
+import com.eventreservation.repository.ReservationRepository;
+import com.eventreservation.repository.SeatAssignmentRepository;
+import com.eventreservation.repository.SeatSectionRepository;
+import com.eventreservation.repository.WaitlistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Background job that moves finished events through their lifecycle: once an event has ended it
+ * becomes COMPLETED (with its confirmed reservations), and after the archive delay both are copied
+ * to the archive tables and deleted from the hot ones. Every batch is its own transaction, so a
+ * large backlog never holds locks for long and an interrupted run just resumes next time.
+ */
+@Service
+public class EventLifecycleService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private ReservationRepository reservationRepository;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private SeatSectionRepository seatSectionRepository;
+    
+    @Autowired
+    private SeatAssignmentRepository seatAssignmentRepository;
+    
+    @Autowired
+    private ReminderRunRepository reminderRunRepository;
+    
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+    
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${lifecycle.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${lifecycle.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${lifecycle.archive-after-days:30}")
+    private long archiveAfterDays;
+    
+    @Scheduled(fixedDelayString = "${lifecycle.interval-ms:600000}", initialDelayString = "${lifecycle.initial-delay-ms:60000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        int completed = completeFinishedEvents(LocalDateTime.now());
+        int archived = archiveOldEvents(LocalDateTime.now().minusDays(archiveAfterDays));
+        if (completed > 0 || archived > 0) {
+            logger.info("Lifecycle run completed {} events and archived {}", completed, archived);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<ArchivedEvent> getArchivedEvents(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return archivedEventRepository.findByEventDateTimeBetween(from, to, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ArchivedEvent> getArchivedEvent(Long eventId) {
+        return archivedEventRepository.findById(eventId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ArchivedReservation> getArchivedEventReservations(Long eventId) {
+        return archivedReservationRepository.findByEventIdOrderByCreatedAtAsc(eventId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ArchivedReservation> getArchivedUserReservations(Long userId) {
+        return archivedReservationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+    
+    public int completeFinishedEvents(LocalDateTime cutoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        while (true) {
+            Integer done = transaction.execute(status -> {
+                List<Long> ids = eventRepository.findIdsToComplete(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                eventRepository.markCompleted(ids, LocalDateTime.now());
+                int reservations = reservationRepository.markCompletedForEvents(ids);
+                waitlistRepository.expireForEvents(ids);
+                meterRegistry.counter("lifecycle.reservations.completed").increment(reservations);
+                ids.forEach(id -> eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.ChangeType.STATUS)));
+                return ids.size();
+            });
+            if (done == null || done == 0) {
+                return total;
+            }
+            total += done;
+            meterRegistry.counter("lifecycle.events.completed").increment(done);
+        }
+    }
+    
+    public int archiveOldEvents(LocalDateTime cutoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        while (true) {
+            Integer done = transaction.execute(status -> {
+                List<Long> ids = eventRepository.findIdsToArchive(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // Copy first, then delete children before parents, all in the batch's transaction
+                LocalDateTime archivedAt = LocalDateTime.now();
+                int reservations = archivedReservationRepository.copyFromReservations(ids, archivedAt);
+                archivedEventRepository.copyFromEvents(ids, archivedAt);
+                reservationRepository.deleteByEventIds(ids);
+                waitlistRepository.deleteByEventIds(ids);
+                seatAssignmentRepository.deleteByEventIds(ids);
+                seatSectionRepository.deleteByEventIds(ids);
+                reminderRunRepository.deleteByEventIds(ids);
+                eventRepository.deleteByIds(ids);
+                meterRegistry.counter("lifecycle.reservations.archived").increment(reservations);
+                ids.forEach(id -> eventPublisher.publishEvent(new CatalogChangedEvent(id, CatalogChangedEvent.ChangeType.DELETED)));
+                return ids.size();
+            });
+            if (done == null || done == 0) {
+                return total;
+            }
+            total += done;
+            meterRegistry.counter("lifecycle.events.archived").increment(done);
+        }
+    }
+}
\ No newline at end of file
@@ -1,18 +1,36 @@
 package com.eventreservation.service;
 
+import com.eventreservation.dto.EventSummaryDto;
 import com.eventreservation.model.Event;
 import com.eventreservation.model.EventCategory;
 import com.eventreservation.model.EventStatus;
 import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.EventRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,37 +39,122 @@ public class EventService {
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+    
+    @Autowired
+    private EventCalendarIndex eventCalendarIndex;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private BookingJournal bookingJournal;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private Timer capacityDecreased;
+    private Timer capacityDecreaseRejected;
+    private Timer capacityIncreased;
+    
+    @PostConstruct
+    void registerMeters() {
+        capacityDecreased = capacityUpdateTimer("decrease", "applied");
+        capacityDecreaseRejected = capacityUpdateTimer("decrease", "rejected");
+        capacityIncreased = capacityUpdateTimer("increase", "applied");
+    }
+    
+    private Timer capacityUpdateTimer(String operation, String outcome) {
+        return Timer.builder("event.capacity.update")
+                .description("Time for the conditional capacity UPDATE, including any wait on the row lock")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Event> getEventById(Long id) {
         return eventRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getUpcomingEvents() {
         return eventRepository.findUpcomingActiveEvents(LocalDateTime.now());
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getBookableEvents() {
         return eventRepository.findBookableEvents(LocalDateTime.now());
     }
     
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> getUpcomingEventSummaries() {
+        return eventRepository.findUpcomingEventSummaries(LocalDateTime.now());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> getBookableEventSummaries() {
+        return eventRepository.findBookableEventSummaries(LocalDateTime.now());
+    }
+    
+    // Lets the controller reject an unknown ?fields= entry before its conditional check sets validators
+    public boolean isSelectableField(String field) {
+        return EventRepositoryImpl.SELECTABLE_FIELDS.contains(field);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUpcomingEventFields(Collection<String> fields, boolean bookableOnly) {
+        return eventRepository.findUpcomingEventFields(fields, LocalDateTime.now(), bookableOnly);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Event> searchEvents(String keyword) {
         return eventRepository.searchEvents(keyword, LocalDateTime.now());
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getEventsByCategory(EventCategory category) {
         return eventRepository.findActiveEventsByCategory(category, LocalDateTime.now());
     }
     
+    @Transactional(readOnly = true)
     public Page<Event> getEventsWithPagination(Pageable pageable) {
         return eventRepository.findByStatusAndEventDateTimeAfter(
             EventStatus.ACTIVE, LocalDateTime.now(), pageable);
     }
     
+    // Any event whose [eventDateTime, endDateTime] overlaps the window, so multi-day events that began earlier count
+    @Transactional(readOnly = true)
     public List<Event> getEventsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return eventRepository.findEventsBetweenDates(startDate, endDate);
+        List<Long> ids = eventCalendarIndex.findOverlapping(startDate, endDate);
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream().map(events::get).filter(Objects::nonNull).toList();
+    }
+    
+    // One IN query for the whole list; found events come back in request order with duplicates collapsed
+    @Transactional(readOnly = true)
+    public List<Event> getEventsByIds(Collection<Long> ids) {
+        Map<Long, Event> events = eventRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream().distinct().map(events::get).filter(Objects::nonNull).toList();
+    }
+    
+    public Map<LocalDate, Integer> getCalendarCounts(YearMonth month) {
+        return eventCalendarIndex.countActiveByDay(month);
     }
     
     public Event createEvent(Event event) {
@@ -63,7 +166,9 @@ public class EventService {
             event.setAvailableCapacity(event.getTotalCapacity());
         }
         
-        return eventRepository.save(event);
+        event = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(event.getId(), CatalogChangedEvent.ChangeType.CREATED));
+        return event;
     }
     
     public Event updateEvent(Long eventId, Event updatedEvent) {
@@ -76,7 +181,10 @@ public class EventService {
         event.setEndDateTime(updatedEvent.getEndDateTime());
         event.setVenue(updatedEvent.getVenue());
         event.setVenueAddress(updatedEvent.getVenueAddress());
-        event.setTotalCapacity(updatedEvent.getTotalCapacity());
+        // Assigned-seating capacity comes from the seat map
+        if (!seatInventoryService.hasSeatMap(eventId)) {
+            event.setTotalCapacity(updatedEvent.getTotalCapacity());
+        }
         event.setPrice(updatedEvent.getPrice());
         event.setCategory(updatedEvent.getCategory());
         event.setImageUrl(updatedEvent.getImageUrl());
@@ -84,7 +192,10 @@ public class EventService {
         event.setOrganizerEmail(updatedEvent.getOrganizerEmail());
         event.setOrganizerPhone(updatedEvent.getOrganizerPhone());
         
-        return eventRepository.save(event);
+        event = eventRepository.save(event);
+        availabilityStreamService.publish(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.UPDATED));
+        return event;
     }
     
     public void deleteEvent(Long eventId) {
@@ -92,6 +203,7 @@ public class EventService {
             throw new RuntimeException("Event not found");
         }
         eventRepository.deleteById(eventId);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.DELETED));
     }
     
     public Event updateEventStatus(Long eventId, EventStatus status) {
@@ -99,9 +211,13 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
         event.setStatus(status);
-        return eventRepository.save(event);
+        event = eventRepository.save(event);
+        availabilityStreamService.publish(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.STATUS));
+        return event;
     }
     
+    @Transactional(readOnly = true)
     public boolean isEventBookable(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -109,30 +225,52 @@ public class EventService {
         return event.isBookable();
     }
     
-    public synchronized void decreaseEventCapacity(Long eventId, int ticketCount) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    // The conditional UPDATE is the capacity check: the database serializes concurrent bookings on the
+    // row, and no row updated means the event sold out or stopped being bookable in the meantime
+    public void decreaseEventCapacity(Long eventId, int ticketCount) {
+        long started = System.nanoTime();
+        int updated = eventRepository.decreaseAvailableCapacity(eventId, ticketCount, LocalDateTime.now());
+        (updated == 1 ? capacityDecreased : capacityDecreaseRejected).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        Event event = reloadEvent(eventId);
         
-        if (!event.isBookable()) {
-            throw new RuntimeException("Event is not bookable");
+        if (updated != 1) {
+            if (!event.isBookable()) {
+                meterRegistry.counter("event.capacity.rejections", "reason", "not_bookable").increment();
+                throw new RuntimeException("Event is not bookable");
+            }
+            meterRegistry.counter("event.capacity.rejections", "reason", "insufficient_capacity").increment();
+            throw new RuntimeException("Not enough available capacity");
         }
         
-        if (event.getAvailableCapacity() < ticketCount) {
-            throw new RuntimeException("Not enough available capacity");
+        bookingJournal.recordCapacity(eventId, -ticketCount, event.getAvailableCapacity(), event.getTotalCapacity());
+        availabilityStreamService.publish(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.CAPACITY));
+    }
+    
+    public void increaseEventCapacity(Long eventId, int ticketCount) {
+        long started = System.nanoTime();
+        int updated = eventRepository.increaseAvailableCapacity(eventId, ticketCount);
+        capacityIncreased.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (updated != 1) {
+            throw new RuntimeException("Event not found");
         }
+        Event event = reloadEvent(eventId);
         
-        event.decreaseCapacity(ticketCount);
-        eventRepository.save(event);
+        bookingJournal.recordCapacity(eventId, ticketCount, event.getAvailableCapacity(), event.getTotalCapacity());
+        availabilityStreamService.publish(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.CAPACITY));
     }
     
-    public synchronized void increaseEventCapacity(Long eventId, int ticketCount) {
+    // The bulk update bypasses the persistence context, so a copy loaded earlier in this transaction
+    // is refreshed before anything reads its counts
+    private Event reloadEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
-        
-        event.increaseCapacity(ticketCount);
-        eventRepository.save(event);
+        entityManager.refresh(event);
+        return event;
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getFeaturedEvents() {
         // Return upcoming events with good availability
         return eventRepository.findBookableEvents(LocalDateTime.now())
@@ -141,4 +279,10 @@ public class EventService {
                 .limit(6)
                 .toList();
     }
+    
+    // Bookable events the user hasn't booked, categories they book most often first, then soonest
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> getRecommendedEventSummaries(Long userId, int limit) {
+        return eventRepository.findRecommendedEventSummaries(userId, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.IdempotencyRecord;
+import com.eventreservation.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per Idempotency-Key. The first caller executes it and a successful
+ * response is kept for the TTL; concurrent duplicates wait for that response and later retries get it
+ * replayed, so neither repeats the booking or capacity work. Anything else is dropped, since the
+ * operation didn't happen: rejections here mostly depend on state that changes (capacity, a lock
+ * conflict, the limiter), and replaying them for a day would keep a client from ever succeeding.
+ * Malformed requests are refused before a key is claimed.
+ *
+ * The TTL is the same for every key, so insertion order is expiry order; keys are kept in a queue in
+ * that order and both the size bound and the sweep remove from its head.
+ */
+@Service
+public class IdempotencyService {
+    
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+    
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries;
+    
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+    
+    @Value("${idempotency.persist:false}")
+    private boolean persist;
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Every claimed entry in claim order, including ones since dropped, so the queue is bounded too
+    private final ConcurrentLinkedQueue<Entry> expiryOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("idempotency.entries", entries, Map::size)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+    }
+    
+    public ResponseEntity<?> execute(String key, String fingerprint, Supplier<ResponseEntity<?>> operation) {
+        if (key.length() > 400) {
+            return error(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+        Entry entry = new Entry(key, fingerprint, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return awaitExisting(existing, fingerprint);
+        }
+        expiryOrder.add(entry);
+        if (queued.incrementAndGet() > maxEntries) {
+            evictOldest();
+        }
+        
+        if (persist) {
+            IdempotencyRecord record = recordRepository.findById(key)
+                    .filter(r -> r.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .orElse(null);
+            if (record != null) {
+                entry.fingerprint = record.getFingerprint();
+                entry.result.complete(new StoredResponse(record.getStatusCode(), record.getBody()));
+                return awaitExisting(entry, fingerprint);
+            }
+        }
+        
+        ResponseEntity<?> response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        
+        StoredResponse stored = new StoredResponse(response.getStatusCode().value(), toJson(response.getBody()));
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            // Duplicates already waiting get this response; the next retry runs the operation again
+            entries.remove(key, entry);
+        } else if (persist) {
+            recordRepository.save(new IdempotencyRecord(key, fingerprint, stored.statusCode, stored.body, entry.expiresAt));
+        }
+        entry.result.complete(stored);
+        meterRegistry.counter("idempotency.requests", "outcome", "executed").increment();
+        return response;
+    }
+    
+    private ResponseEntity<?> awaitExisting(Entry existing, String fingerprint) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            meterRegistry.counter("idempotency.requests", "outcome", "mismatch").increment();
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        }
+        try {
+            StoredResponse stored = existing.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            meterRegistry.counter("idempotency.requests", "outcome", "replayed").increment();
+            return ResponseEntity.status(stored.statusCode)
+                    .header("Idempotent-Replayed", "true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(stored.body);
+        } catch (TimeoutException | ExecutionException e) {
+            meterRegistry.counter("idempotency.requests", "outcome", "conflict").increment();
+            return error(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress or failed, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(HttpStatus.CONFLICT, "Interrupted while waiting for the original request");
+        }
+    }
+    
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+    
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not store response for replay", e);
+        }
+    }
+    
+    // Over the bound, the oldest completed keys go first; one still running stops the trim until it finishes
+    private void evictOldest() {
+        while (queued.get() > maxEntries) {
+            Entry oldest = pollOldest(entry -> entry.result.isDone());
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.key, oldest);
+        }
+    }
+    
+    // Removes the head of the queue only if it matches, so the check and the removal can't be split by another thread
+    private synchronized Entry pollOldest(Predicate<Entry> condition) {
+        Entry oldest = expiryOrder.peek();
+        if (oldest == null || !condition.test(oldest)) {
+            return null;
+        }
+        expiryOrder.poll();
+        queued.decrementAndGet();
+        return oldest;
+    }
+    
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    @Transactional
+    public void removeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Entry expired;
+        while ((expired = pollOldest(entry -> entry.expiresAt.isBefore(now))) != null) {
+            entries.remove(expired.key, expired);
+        }
+        if (persist) {
+            recordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+    
+    private static class Entry {
+        
+        private final String key;
+        private volatile String fingerprint;
+        private final LocalDateTime expiresAt;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        
+        Entry(String key, String fingerprint, LocalDateTime expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    private record StoredResponse(int statusCode, String body) {}
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.eventreservation.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One entry of the booking journal. UPSERT carries a full row image (lower-case column name to
+ * value) so replay is idempotent; DELETE carries only the id; CAPACITY is an audit entry with the
+ * delta and the resulting available/total capacity. The same value encoding is used in snapshots.
+ */
+public class JournalRecord {
+    
+    public enum Type {
+        UPSERT, DELETE, CAPACITY
+    }
+    
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INT = 2;
+    private static final byte STRING = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte TIMESTAMP = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte DATE = 8;
+    
+    private final Type type;
+    private final long sequence;
+    private final long timestamp;
+    private final String table;
+    private final Long id;
+    private final Map<String, Object> values;
+    
+    public JournalRecord(Type type, long sequence, long timestamp, String table, Long id, Map<String, Object> values) {
+        this.type = type;
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.table = table;
+        this.id = id;
+        this.values = values;
+    }
+    
+    public Type getType() { return type; }
+    public long getSequence() { return sequence; }
+    public long getTimestamp() { return timestamp; }
+    public String getTable() { return table; }
+    public Long getId() { return id; }
+    public Map<String, Object> getValues() { return values; }
+    
+    void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeLong(sequence);
+        out.writeLong(timestamp);
+        out.writeUTF(table);
+        out.writeLong(id);
+        writeRow(out, values);
+    }
+    
+    static JournalRecord readFrom(DataInput in) throws IOException {
+        Type type = Type.values()[in.readByte()];
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        String table = in.readUTF();
+        long id = in.readLong();
+        return new JournalRecord(type, sequence, timestamp, table, id, readRow(in));
+    }
+    
+    static void writeRow(DataOutput out, Map<String, Object> row) throws IOException {
+        out.writeShort(row.size());
+        for (Map.Entry<String, Object> column : row.entrySet()) {
+            out.writeUTF(column.getKey());
+            writeValue(out, column.getValue());
+        }
+    }
+    
+    static Map<String, Object> readRow(DataInput in) throws IOException {
+        int columns = in.readUnsignedShort();
+        Map<String, Object> row = new LinkedHashMap<>(columns * 2);
+        for (int i = 0; i < columns; i++) {
+            row.put(in.readUTF(), readValue(in));
+        }
+        return row;
+    }
+    
+    static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(DECIMAL);
+            out.writeUTF(d.toPlainString());
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(t.toLocalDate().toEpochDay());
+            out.writeLong(t.toLocalTime().toNanoOfDay());
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(DATE);
+            out.writeLong(d.toEpochDay());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else {
+            // TEXT columns can exceed writeUTF's 64KB limit
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+    
+    static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case LONG:
+                return in.readLong();
+            case INT:
+                return in.readInt();
+            case DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case TIMESTAMP:
+                LocalDate date = LocalDate.ofEpochDay(in.readLong());
+                return date.atStartOfDay().plusNanos(in.readLong());
+            case DATE:
+                return LocalDate.ofEpochDay(in.readLong());
+            case BOOLEAN:
+                return in.readBoolean();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+    
+    // Current row of a JDBC result as a row image, normalised to the types writeValue understands
+    static Map<String, Object> readRow(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        Map<String, Object> row = new LinkedHashMap<>(meta.getColumnCount() * 2);
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String name = meta.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            Object value;
+            switch (meta.getColumnType(i)) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> value = rs.getObject(i) == null ? null : rs.getInt(i);
+                case Types.BIGINT -> value = rs.getObject(i) == null ? null : rs.getLong(i);
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> {
+                    Timestamp timestamp = rs.getTimestamp(i);
+                    value = timestamp == null ? null : timestamp.toLocalDateTime();
+                }
+                case Types.DATE -> value = rs.getObject(i) == null ? null : rs.getDate(i).toLocalDate();
+                case Types.BOOLEAN, Types.BIT -> value = rs.getObject(i) == null ? null : rs.getBoolean(i);
+                case Types.DECIMAL, Types.NUMERIC -> value = rs.getBigDecimal(i);
+                case Types.DOUBLE, Types.FLOAT, Types.REAL -> value = rs.getObject(i) == null ? null : rs.getDouble(i);
+                default -> value = rs.getString(i);
+            }
+            row.put(name, value);
+        }
+        return row;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,318 @@
+package com.eventreservation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodic compact snapshots of users, events and reservations (gzipped row images, tagged with
+ * the journal sequence taken before the read), and the startup path that rebuilds an empty
+ * database from the newest snapshot plus the journal entries after it. The restore is opt-in
+ * (journal.restore-on-startup) and runs once all singletons exist but before the web server starts,
+ * so no request can see or write a half-restored database.
+ *
+ * Replay is by row image and therefore idempotent, so entries the snapshot already contains are
+ * harmless. Available capacity is recomputed from confirmed tickets rather than taken from the
+ * journal, because capacity entries of different events can land out of commit order.
+ */
+@Service
+public class JournalSnapshotService implements SmartInitializingSingleton {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JournalSnapshotService.class);
+    private static final int MAGIC = 0x4A534E50;
+    // Parents before children, for inserting; reversed for deleting
+    private static final List<String> TABLES = List.of(BookingJournal.USERS, BookingJournal.EVENTS, BookingJournal.RESERVATIONS);
+    
+    @Autowired
+    private BookingJournal bookingJournal;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${journal.restore-on-startup:false}")
+    private boolean restoreOnStartup;
+    
+    @Value("${journal.snapshots-to-keep:2}")
+    private int snapshotsToKeep;
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!bookingJournal.isEnabled()) {
+            return;
+        }
+        if (restoreOnStartup) {
+            restore();
+        }
+        // Without a base snapshot the journal alone can't rebuild rows that predate it
+        if (listSnapshots().isEmpty()) {
+            writeSnapshot();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${journal.snapshot-interval-ms:600000}", initialDelayString = "${journal.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        if (bookingJournal.isEnabled()) {
+            writeSnapshot();
+        }
+    }
+    
+    public synchronized Map<String, Object> writeSnapshot() {
+        long started = System.nanoTime();
+        long sequence = bookingJournal.getLastSequence();
+        Path target = bookingJournal.getDirectory().resolve(String.format("snapshot-%020d.bin", sequence));
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporary)), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeLong(System.currentTimeMillis());
+            transaction.executeWithoutResult(status -> {
+                for (String table : TABLES) {
+                    rows.put(table, writeTable(out, table));
+                }
+            });
+            out.writeBoolean(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        List<Path> snapshots = listSnapshots();
+        for (int i = 0; i < snapshots.size() - snapshotsToKeep; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                logger.warn("Could not delete old snapshot {}: {}", snapshots.get(i), e.getMessage());
+            }
+        }
+        // Journal older than the oldest snapshot we keep can't be needed for a restore any more
+        List<Path> kept = listSnapshots();
+        bookingJournal.deleteSegmentsThrough(sequenceOf(kept.get(0)));
+        
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Wrote snapshot {} ({}) in {} ms", target.getFileName(), rows, elapsedMs);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("snapshot", target.getFileName().toString());
+        result.put("sequence", sequence);
+        result.put("rows", rows);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+    
+    private int writeTable(DataOutputStream out, String table) {
+        return jdbcTemplate.query("SELECT * FROM " + table + " ORDER BY id", (ResultSetExtractor<Integer>) rs -> {
+            try {
+                int count = 0;
+                out.writeBoolean(true);
+                out.writeUTF(table);
+                while (rs.next()) {
+                    out.writeBoolean(true);
+                    JournalRecord.writeRow(out, JournalRecord.readRow(rs));
+                    count++;
+                }
+                out.writeBoolean(false);
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    /**
+     * Rebuilds users, events and reservations from the newest snapshot and the journal after it.
+     * Only runs when users, events and reservations are all empty, so it never replaces rows that
+     * are already there, whether live data or seeded at startup (data.sql).
+     */
+    public void restore() {
+        List<Path> snapshots = listSnapshots();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        for (String table : TABLES) {
+            Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (existing != null && existing > 0) {
+                logger.info("Table {} already holds {} rows, not restoring from the journal", table, existing);
+                return;
+            }
+        }
+        
+        long started = System.nanoTime();
+        Path snapshot = snapshots.get(snapshots.size() - 1);
+        Map<String, Map<Long, Map<String, Object>>> tables = new LinkedHashMap<>();
+        TABLES.forEach(table -> tables.put(table, new LinkedHashMap<>()));
+        long sequence = readSnapshot(snapshot, tables);
+        long loadedMs = (System.nanoTime() - started) / 1_000_000;
+        
+        int replayed = bookingJournal.replay(sequence, record -> {
+            Map<Long, Map<String, Object>> rows = tables.get(record.getTable());
+            if (rows == null) {
+                return;
+            }
+            if (record.getType() == JournalRecord.Type.UPSERT) {
+                rows.put(record.getId(), record.getValues());
+            } else if (record.getType() == JournalRecord.Type.DELETE) {
+                rows.remove(record.getId());
+            }
+        });
+        
+        int orphans = dropOrphanReservations(tables);
+        recomputeAvailableCapacity(tables);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String table : TABLES) {
+                insertRows(table, tables.get(table).values());
+                restartIdentity(table, tables.get(table).keySet().stream().mapToLong(Long::longValue).max().orElse(0));
+            }
+        });
+        
+        logger.info("Restored {} users, {} events, {} reservations from {} + {} journal entries in {} ms (snapshot load {} ms){}",
+                tables.get(BookingJournal.USERS).size(), tables.get(BookingJournal.EVENTS).size(),
+                tables.get(BookingJournal.RESERVATIONS).size(), snapshot.getFileName(), replayed,
+                (System.nanoTime() - started) / 1_000_000, loadedMs,
+                orphans > 0 ? "; dropped " + orphans + " reservations of archived or deleted events" : "");
+    }
+    
+    private long readSnapshot(Path snapshot, Map<String, Map<Long, Map<String, Object>>> tables) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(snapshot)), 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot: " + snapshot);
+            }
+            long sequence = in.readLong();
+            in.readLong();
+            while (in.readBoolean()) {
+                String table = in.readUTF();
+                Map<Long, Map<String, Object>> rows = tables.computeIfAbsent(table, t -> new LinkedHashMap<>());
+                while (in.readBoolean()) {
+                    Map<String, Object> row = JournalRecord.readRow(in);
+                    rows.put(((Number) row.get("id")).longValue(), row);
+                }
+            }
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Archiving removes reservations in bulk without journaling each one
+    private int dropOrphanReservations(Map<String, Map<Long, Map<String, Object>>> tables) {
+        Map<Long, Map<String, Object>> users = tables.get(BookingJournal.USERS);
+        Map<Long, Map<String, Object>> events = tables.get(BookingJournal.EVENTS);
+        Map<Long, Map<String, Object>> reservations = tables.get(BookingJournal.RESERVATIONS);
+        int before = reservations.size();
+        reservations.values().removeIf(row ->
+                !events.containsKey(((Number) row.get("event_id")).longValue())
+                        || !users.containsKey(((Number) row.get("user_id")).longValue()));
+        return before - reservations.size();
+    }
+    
+    private void recomputeAvailableCapacity(Map<String, Map<Long, Map<String, Object>>> tables) {
+        Map<Long, Integer> confirmed = new HashMap<>();
+        for (Map<String, Object> reservation : tables.get(BookingJournal.RESERVATIONS).values()) {
+            if ("CONFIRMED".equals(reservation.get("status"))) {
+                confirmed.merge(((Number) reservation.get("event_id")).longValue(),
+                        ((Number) reservation.get("number_of_tickets")).intValue(), Integer::sum);
+            }
+        }
+        for (Map.Entry<Long, Map<String, Object>> event : tables.get(BookingJournal.EVENTS).entrySet()) {
+            int total = ((Number) event.getValue().get("total_capacity")).intValue();
+            event.getValue().put("available_capacity", total - confirmed.getOrDefault(event.getKey(), 0));
+        }
+    }
+    
+    private void insertRows(String table, Iterable<Map<String, Object>> rows) {
+        // Only columns the current schema still has, in case entities changed since the snapshot
+        List<String> columns = jdbcTemplate.query("SELECT * FROM " + table + " WHERE 1 = 0", (ResultSetExtractor<List<String>>) rs -> {
+            List<String> names = new ArrayList<>();
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                names.add(rs.getMetaData().getColumnLabel(i).toLowerCase(Locale.ROOT));
+            }
+            return names;
+        });
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+        
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = row.get(columns.get(i));
+                values[i] = value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value;
+            }
+            batch.add(values);
+            if (batch.size() == 1000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+    
+    // Restored rows keep their ids, so new rows must be numbered after them
+    private void restartIdentity(String table, long maxId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT));
+        if (database.contains("h2")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+        } else if (database.contains("postgres")) {
+            jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + Math.max(1, maxId) + ")");
+        } else {
+            logger.warn("Don't know how to restart the id sequence of {} on {}; new ids may collide", table, database);
+        }
+    }
+    
+    public List<Path> listSnapshots() {
+        try (Stream<Path> listing = Files.list(bookingJournal.getDirectory())) {
+            return listing.filter(p -> p.getFileName().toString().matches("snapshot-\\d{20}\\.bin")).sorted().toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+    
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring("snapshot-".length(), name.length() - ".bin".length()));
+    }
+}
\ No newline at end of file
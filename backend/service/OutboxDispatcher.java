@@ -0,0 +1,312 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.OutboxMessage;
+import com.eventreservation.repository.OutboxRepository;
+import com.eventreservation.security.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends outbox emails in batches. Each poll leases up to batch-size due messages, splits them
+ * across at most max-concurrent sender threads (one SMTP connection per chunk), and records the
+ * outcome: sent, retried later with exponential backoff and jitter, or failed after max-attempts.
+ * With max-per-second set, all sender threads share one token bucket so bulk runs go out at that pace.
+ * Delivery is at-least-once: a lease that expires mid-send is picked up again.
+ *
+ * Polling runs on its own thread, since a slow SMTP server would otherwise hold a shared scheduler
+ * thread for the length of a whole backlog. Rows older than retention-days are purged whatever their
+ * status, so nothing piles up while dispatch is disabled.
+ */
+@Service
+public class OutboxDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+    
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSender;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${outbox.dispatch-enabled:false}")
+    private boolean enabled;
+    
+    @Value("${outbox.from:no-reply@eventreservation.local}")
+    private String from;
+    
+    @Value("${outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+    
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${outbox.max-concurrent:4}")
+    private int maxConcurrent;
+    
+    @Value("${outbox.max-per-second:0}")
+    private double maxPerSecond;
+    
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+    
+    @Value("${outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+    
+    @Value("${outbox.lease-ms:120000}")
+    private long leaseMs;
+    
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+    
+    private ExecutorService senders;
+    private ScheduledExecutorService poller;
+    private TokenBucket sendRate;
+    private TransactionTemplate transaction;
+    private Timer sendTimer;
+    private Timer deliveryLagTimer;
+    
+    @PostConstruct
+    void initialize() {
+        AtomicInteger threads = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (maxPerSecond > 0) {
+            sendRate = new TokenBucket((int) Math.max(1, maxPerSecond), maxPerSecond, System.nanoTime());
+        }
+        transaction = new TransactionTemplate(transactionManager);
+        sendTimer = Timer.builder("outbox.send")
+                .description("SMTP time per chunk of messages")
+                .register(meterRegistry);
+        deliveryLagTimer = Timer.builder("outbox.delivery.lag")
+                .description("Time from enqueue to successful send")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                dispatch();
+            } catch (RuntimeException e) {
+                // An exception escaping would cancel the schedule; leased messages are retried once their lease runs out
+                logger.warn("Outbox dispatch failed: {}", e.getMessage());
+            }
+        }, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        senders.shutdownNow();
+    }
+    
+    public void dispatch() {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            logger.warn("Outbox dispatch is enabled but no mail sender is configured (spring.mail.host)");
+            return;
+        }
+        // A full batch means there's probably more; keep going rather than waiting for the next tick
+        while (dispatchBatch(sender) == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+    
+    private int dispatchBatch(JavaMailSender sender) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> claimed = transaction.execute(status -> {
+            List<Long> ids = outboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.lease(ids, owner, now, now.plus(Duration.ofMillis(leaseMs)));
+            return outboxRepository.findByLeaseOwnerOrderById(owner);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        int chunkSize = (claimed.size() + maxConcurrent - 1) / maxConcurrent;
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i += chunkSize) {
+            List<OutboxMessage> chunk = claimed.subList(i, Math.min(claimed.size(), i + chunkSize));
+            chunks.add(senders.submit(() -> send(sender, chunk, failures)));
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            try {
+                chunks.get(i).get();
+            } catch (InterruptedException e) {
+                // Leases expire and the messages are retried, possibly by another instance
+                Thread.currentThread().interrupt();
+                return 0;
+            } catch (ExecutionException e) {
+                int start = i * chunkSize;
+                for (OutboxMessage message : claimed.subList(start, Math.min(claimed.size(), start + chunkSize))) {
+                    failures.putIfAbsent(message.getId(), String.valueOf(e.getCause()));
+                }
+            }
+        }
+        
+        transaction.executeWithoutResult(status -> recordOutcome(claimed, failures));
+        return claimed.size();
+    }
+    
+    private void send(JavaMailSender sender, List<OutboxMessage> chunk, Map<Long, String> failures) {
+        SimpleMailMessage[] mails = new SimpleMailMessage[chunk.size()];
+        for (int i = 0; i < mails.length; i++) {
+            OutboxMessage message = chunk.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mail.setSentDate(new Date());
+            mails[i] = mail;
+        }
+        
+        for (int i = 0; sendRate != null && i < mails.length; i++) {
+            long wait;
+            while ((wait = sendRate.tryConsume(System.nanoTime())) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        
+        long started = System.nanoTime();
+        try {
+            sender.send(mails);
+        } catch (MailSendException e) {
+            // Per-message failures when the connection worked; otherwise the whole chunk failed
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < mails.length; i++) {
+                if (failed.isEmpty() || failed.containsKey(mails[i])) {
+                    Exception cause = failed.getOrDefault(mails[i], e);
+                    failures.put(chunk.get(i).getId(), String.valueOf(cause.getMessage()));
+                }
+            }
+        } catch (MailException e) {
+            for (OutboxMessage message : chunk) {
+                failures.put(message.getId(), String.valueOf(e.getMessage()));
+            }
+        } finally {
+            sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void recordOutcome(List<OutboxMessage> claimed, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sent = new ArrayList<>();
+        for (OutboxMessage message : claimed) {
+            String error = failures.get(message.getId());
+            if (error == null) {
+                sent.add(message.getId());
+                if (message.getCreatedAt() != null) {
+                    deliveryLagTimer.record(Duration.between(message.getCreatedAt(), now));
+                }
+                continue;
+            }
+            
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLeaseOwner(null);
+            message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (attempts >= maxAttempts) {
+                message.setStatus(OutboxMessage.Status.FAILED);
+                meterRegistry.counter("outbox.messages", "result", "failed").increment();
+                logger.warn("Giving up on outbox message {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), attempts, error);
+            } else {
+                message.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs(attempts))));
+                meterRegistry.counter("outbox.messages", "result", "retry").increment();
+            }
+            outboxRepository.save(message);
+        }
+        if (!sent.isEmpty()) {
+            outboxRepository.markSent(sent, now);
+            meterRegistry.counter("outbox.messages", "result", "sent").increment(sent.size());
+        }
+    }
+    
+    // initial * 2^(attempts-1), capped, with +/-20% jitter so a recovered SMTP server isn't hit all at once
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 30);
+        backoff = Math.min(maxBackoffMs, backoff > 0 ? backoff : maxBackoffMs);
+        return (long) (backoff * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer sent = transaction.execute(status -> outboxRepository.deleteSentBefore(cutoff));
+        // Unsent mail this old is no longer worth delivering, and with dispatch off nothing else removes it
+        Integer expired = transaction.execute(status -> outboxRepository.deleteUnsentCreatedBefore(cutoff));
+        if (expired != null && expired > 0) {
+            meterRegistry.counter("outbox.messages", "result", "expired").increment(expired);
+        }
+        if ((sent != null && sent > 0) || (expired != null && expired > 0)) {
+            logger.info("Purged {} sent and {} expired unsent outbox messages", sent, expired);
+        }
+    }
+}
\ No newline at end of file
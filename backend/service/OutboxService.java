@@ -0,0 +1,111 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.OutboxMessage;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.model.User;
+import com.eventreservation.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Queues notification emails as outbox rows. Enqueueing requires the caller's transaction, so the
+ * email exists exactly when the booking or cancellation it describes commits; {@link OutboxDispatcher}
+ * does the SMTP work afterwards.
+ */
+@Service
+public class OutboxService {
+    
+    public static final String BOOKING_CONFIRMED = "BOOKING_CONFIRMED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+    public static final String EVENT_REMINDER = "EVENT_REMINDER";
+    
+    public static final int PRIORITY_TRANSACTIONAL = 0;
+    public static final int PRIORITY_BULK = 1;
+    
+    private static final DateTimeFormatter EVENT_DATE = DateTimeFormatter.ofPattern("EEE d MMM yyyy, HH:mm");
+    private static final DateTimeFormatter EVENT_TIME = DateTimeFormatter.ofPattern("HH:mm");
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String type, String recipient, String subject, String body, int priority) {
+        outboxRepository.save(new OutboxMessage(type, recipient, subject, body, priority));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBookingConfirmation(Reservation reservation, List<String> seats) {
+        User user = reservation.getUser();
+        Event event = reservation.getEvent();
+        StringBuilder body = new StringBuilder()
+                .append("Hi ").append(user.getFirstName()).append(",\n\n")
+                .append("Your reservation is confirmed.\n\n")
+                .append("Event: ").append(event.getTitle()).append('\n')
+                .append("When: ").append(event.getEventDateTime().format(EVENT_DATE)).append('\n')
+                .append("Where: ").append(event.getVenue()).append('\n')
+                .append("Tickets: ").append(reservation.getNumberOfTickets()).append('\n');
+        if (seats != null) {
+            body.append("Seats: ").append(String.join(", ", seats)).append('\n');
+        }
+        body.append("Total: ").append(reservation.getTotalAmount()).append('\n')
+                .append("Reservation code: ").append(reservation.getReservationCode()).append('\n');
+        enqueue(BOOKING_CONFIRMED, user.getEmail(),
+                "Booking confirmed: " + event.getTitle() + " (" + reservation.getReservationCode() + ")", body.toString(),
+                PRIORITY_TRANSACTIONAL);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCancellation(Reservation reservation) {
+        User user = reservation.getUser();
+        Event event = reservation.getEvent();
+        String body = "Hi " + user.getFirstName() + ",\n\n"
+                + "Your reservation " + reservation.getReservationCode() + " for " + event.getTitle()
+                + " on " + event.getEventDateTime().format(EVENT_DATE) + " has been cancelled.\n";
+        enqueue(BOOKING_CANCELLED, user.getEmail(),
+                "Booking cancelled: " + event.getTitle() + " (" + reservation.getReservationCode() + ")", body,
+                PRIORITY_TRANSACTIONAL);
+    }
+    
+    // The wording follows the actual start time, since reminders.lead-hours can put it days or hours away
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueReminder(Reservation reservation, LocalDateTime now) {
+        User user = reservation.getUser();
+        Event event = reservation.getEvent();
+        LocalDateTime start = event.getEventDateTime();
+        long hours = Math.max(0, Duration.between(now, start).toHours());
+        StringBuilder body = new StringBuilder()
+                .append("Hi ").append(user.getFirstName()).append(",\n\n")
+                .append("A reminder that ").append(event.getTitle()).append(" starts ").append(start.format(EVENT_DATE))
+                .append(" at ").append(event.getVenue())
+                .append(hours < 1 ? ", within the hour" : ", in about " + hours + (hours == 1 ? " hour" : " hours")).append(".\n\n")
+                .append("Tickets: ").append(reservation.getNumberOfTickets()).append('\n')
+                .append("Reservation code: ").append(reservation.getReservationCode()).append("\n\n");
+        if (reservation.canBeCancelled()) {
+            body.append("You can still cancel this reservation until ")
+                    .append(start.minusHours(Reservation.CANCELLATION_CUTOFF_HOURS).format(EVENT_DATE)).append(".\n");
+        } else {
+            body.append("The event is less than ").append(Reservation.CANCELLATION_CUTOFF_HOURS)
+                    .append(" hours away, so this reservation can no longer be cancelled.\n");
+        }
+        enqueue(EVENT_REMINDER, user.getEmail(), "Reminder: " + event.getTitle() + " starts " + relativeDay(start, now),
+                body.toString(), PRIORITY_BULK);
+    }
+    
+    private static String relativeDay(LocalDateTime start, LocalDateTime now) {
+        long days = ChronoUnit.DAYS.between(now.toLocalDate(), start.toLocalDate());
+        String time = start.format(EVENT_TIME);
+        if (days <= 0) {
+            return "today at " + time;
+        }
+        return days == 1 ? "tomorrow at " + time : "on " + start.format(EVENT_DATE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.ReminderRun;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.repository.ReminderRunRepository;
+import com.eventreservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues a reminder email for every confirmed attendee once an event is inside the 24 hour window
+ * (the same boundary after which reservations can't be cancelled). Each event's reservations are
+ * walked with a keyset cursor in chunks; a chunk's outbox rows and the advanced checkpoint commit
+ * together, so a restart resumes after the last committed chunk and nobody is reminded twice.
+ * Sending, and its pace, is left to {@link OutboxDispatcher}.
+ */
+@Service
+public class ReminderService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
+    
+    @Autowired
+    private ReminderRunRepository reminderRunRepository;
+    
+    @Autowired
+    private ReservationRepository reservationRepository;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${reminders.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${reminders.lead-hours:24}")
+    private long leadHours;
+    
+    @Value("${reminders.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${reminders.parallel-events:2}")
+    private int parallelEvents;
+    
+    private ExecutorService workers;
+    private TransactionTemplate transaction;
+    
+    @PostConstruct
+    void initialize() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(parallelEvents, runnable -> {
+            Thread thread = new Thread(runnable, "reminder-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transaction = new TransactionTemplate(transactionManager);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.interval-ms:60000}", initialDelayString = "${reminders.initial-delay-ms:30000}")
+    public void sendDueReminders() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> eventIds = transaction.execute(status -> reminderRunRepository.findEventIdsDue(now, now.plusHours(leadHours)));
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+        
+        // Events fan out side by side; each event's chunks stay in order behind its checkpoint
+        List<Future<?>> runs = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            runs.add(workers.submit(() -> remindAttendees(eventId)));
+        }
+        for (Future<?> run : runs) {
+            try {
+                run.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.warn("Reminder run failed, will resume next time: {}", e.getCause().getMessage());
+            }
+        }
+    }
+    
+    public int remindAttendees(Long eventId) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                if (!reminderRunRepository.existsById(eventId)) {
+                    reminderRunRepository.save(new ReminderRun(eventId));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance started this event's run at the same moment
+        }
+        
+        int total = 0;
+        while (true) {
+            Integer queued;
+            try {
+                queued = transaction.execute(status -> queueNextChunk(eventId));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Another instance advanced the checkpoint; its chunk stands and ours rolled back
+                meterRegistry.counter("reminders.conflicts").increment();
+                return total;
+            }
+            if (queued == null || queued == 0) {
+                return total;
+            }
+            total += queued;
+        }
+    }
+    
+    // Returns how many reminders were queued; 0 once the run is finished
+    private int queueNextChunk(Long eventId) {
+        ReminderRun run = reminderRunRepository.findById(eventId).orElse(null);
+        if (run == null || run.getStatus() == ReminderRun.Status.DONE) {
+            return 0;
+        }
+        List<Reservation> chunk = reservationRepository.findConfirmedReservationsByEventAfter(
+                eventId, run.getLastReservationId(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            run.setStatus(ReminderRun.Status.DONE);
+            run.setCompletedAt(LocalDateTime.now());
+            reminderRunRepository.save(run);
+            logger.info("Queued {} reminders for event {}", run.getEnqueued(), eventId);
+            return 0;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (Reservation reservation : chunk) {
+            outboxService.enqueueReminder(reservation, now);
+        }
+        run.setLastReservationId(chunk.get(chunk.size() - 1).getId());
+        run.setEnqueued(run.getEnqueued() + chunk.size());
+        reminderRunRepository.save(run);
+        meterRegistry.counter("reminders.enqueued").increment(chunk.size());
+        return chunk.size();
+    }
+}
\ No newline at end of file
@@ -6,11 +6,19 @@ import com.eventreservation.model.Reservation;
 import com.eventreservation.model.ReservationStatus;
 import com.eventreservation.model.User;
 import com.eventreservation.repository.ReservationRepository;
+import com.eventreservation.repository.WaitlistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,24 +36,101 @@ public class ReservationService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private SalesStatsService salesStatsService;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private BookingJournal bookingJournal;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // See isHeldForWaitlist
+    @Value("${waitlist.hold-released-tickets:true}")
+    private boolean holdReleasedTickets;
+    
+    private Timer bookingSuccessTimer;
+    private Timer bookingFailureTimer;
+    private Counter ticketsBookedCounter;
+    private Counter cancellationsCounter;
+    
+    @PostConstruct
+    void registerMeters() {
+        bookingSuccessTimer = Timer.builder("booking.create")
+                .description("End-to-end reservation creation time")
+                .tag("outcome", "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        bookingFailureTimer = Timer.builder("booking.create")
+                .description("End-to-end reservation creation time")
+                .tag("outcome", "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        ticketsBookedCounter = Counter.builder("booking.tickets").register(meterRegistry);
+        cancellationsCounter = Counter.builder("booking.cancellations").register(meterRegistry);
+    }
+    
     public ReservationDto createReservation(ReservationDto reservationDto, String userEmail) {
+        return createReservation(reservationDto, userEmail, false);
+    }
+    
+    // The waitlist allocator books on behalf of the queue, so it skips the "waitlist first" rule
+    ReservationDto promoteFromWaitlist(ReservationDto reservationDto, String userEmail) {
+        return createReservation(reservationDto, userEmail, true);
+    }
+    
+    private ReservationDto createReservation(ReservationDto reservationDto, String userEmail, boolean fromWaitlist) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ReservationDto created = doCreateReservation(reservationDto, userEmail, fromWaitlist);
+            sample.stop(bookingSuccessTimer);
+            ticketsBookedCounter.increment(created.getNumberOfTickets());
+            return created;
+        } catch (RuntimeException e) {
+            sample.stop(bookingFailureTimer);
+            throw e;
+        }
+    }
+    
+    // With waitlist.hold-released-tickets on, released tickets go to the queue in order rather than to
+    // whoever retries fastest, but only while someone waiting can actually use them; otherwise they'd sit
+    // unsold behind a head that wants more than was released
+    boolean isHeldForWaitlist(Event event) {
+        return holdReleasedTickets && event.getAvailableCapacity() > 0
+                && waitlistRepository.hasWaitingWithin(event.getId(), event.getAvailableCapacity());
+    }
+    
+    private ReservationDto doCreateReservation(ReservationDto reservationDto, String userEmail, boolean fromWaitlist) {
         User user = userService.getCurrentUser(userEmail);
         Event event = eventService.getEventById(reservationDto.getEventId())
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+                .orElseThrow(() -> rejectBooking("event_not_found", "Event not found"));
         
         // Check if event is bookable
         if (!event.isBookable()) {
-            throw new RuntimeException("Event is not available for booking");
+            throw rejectBooking("not_bookable", "Event is not available for booking");
         }
         
         // Check if user already has a reservation for this event
         if (reservationRepository.existsByUserIdAndEventId(user.getId(), event.getId())) {
-            throw new RuntimeException("You already have a reservation for this event");
+            throw rejectBooking("duplicate", "You already have a reservation for this event");
+        }
+        
+        if (!fromWaitlist && isHeldForWaitlist(event)) {
+            throw rejectBooking("waitlisted", "This event has a waitlist. Join the waitlist to be allocated released tickets in order");
         }
         
         // Check capacity
         if (event.getAvailableCapacity() < reservationDto.getNumberOfTickets()) {
-            throw new RuntimeException("Not enough tickets available. Available: " + event.getAvailableCapacity());
+            throw rejectBooking("insufficient_capacity", "Not enough tickets available. Available: " + event.getAvailableCapacity());
         }
         
         // Calculate total amount
@@ -60,10 +145,19 @@ public class ReservationService {
         
         // Save reservation
         reservation = reservationRepository.save(reservation);
+        salesStatsService.recordStatusChange(reservation, null, reservation.getStatus());
         
-        return convertToDto(reservation);
+        // Assigned-seating events also take specific seats; failing here rolls back the capacity too
+        List<String> seats = seatInventoryService.assignSeats(event.getId(), reservation.getId(), reservationDto.getNumberOfTickets());
+        outboxService.enqueueBookingConfirmation(reservation, seats);
+        bookingJournal.recordRow(BookingJournal.RESERVATIONS, reservation.getId());
+        
+        ReservationDto created = convertToDto(reservation);
+        created.setSeats(seats);
+        return created;
     }
     
+    @Transactional(readOnly = true)
     public List<ReservationDto> getUserReservations(String userEmail) {
         User user = userService.getCurrentUser(userEmail);
         List<Reservation> reservations = reservationRepository.findUserReservationsWithEvents(user.getId());
@@ -73,23 +167,33 @@ public class ReservationService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getUpcomingReservations(Long userId, int limit) {
+        return reservationRepository.findUpcomingUserReservations(userId, LocalDateTime.now(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<ReservationDto> getReservationById(Long reservationId, String userEmail) {
         User user = userService.getCurrentUser(userEmail);
         Optional<Reservation> reservation = reservationRepository.findById(reservationId);
         
         if (reservation.isPresent() && reservation.get().getUser().getId().equals(user.getId())) {
-            return Optional.of(convertToDto(reservation.get()));
+            return Optional.of(convertToDtoWithSeats(reservation.get()));
         }
         
         return Optional.empty();
     }
     
+    @Transactional(readOnly = true)
     public Optional<ReservationDto> getReservationByCode(String reservationCode, String userEmail) {
         User user = userService.getCurrentUser(userEmail);
         Optional<Reservation> reservation = reservationRepository.findByReservationCode(reservationCode);
         
         if (reservation.isPresent() && reservation.get().getUser().getId().equals(user.getId())) {
-            return Optional.of(convertToDto(reservation.get()));
+            return Optional.of(convertToDtoWithSeats(reservation.get()));
         }
         
         return Optional.empty();
@@ -110,18 +214,14 @@ public class ReservationService {
             throw new RuntimeException("Reservation cannot be cancelled. Events can only be cancelled 24 hours in advance.");
         }
         
-        // Update reservation status
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        
-        // Increase event capacity back
-        eventService.increaseEventCapacity(reservation.getEvent().getId(), reservation.getNumberOfTickets());
-        
-        reservation = reservationRepository.save(reservation);
+        applyStatusChange(reservation, ReservationStatus.CANCELLED);
+        cancellationsCounter.increment();
         
         return convertToDto(reservation);
     }
     
     // Admin methods
+    @Transactional(readOnly = true)
     public List<ReservationDto> getAllReservations() {
         List<Reservation> reservations = reservationRepository.findAll();
         return reservations.stream()
@@ -129,6 +229,7 @@ public class ReservationService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ReservationDto> getEventReservations(Long eventId) {
         List<Reservation> reservations = reservationRepository.findByEventId(eventId);
         return reservations.stream()
@@ -140,18 +241,37 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
         
+        applyStatusChange(reservation, status);
+        return convertToDto(reservation);
+    }
+    
+    // Shared by user and admin status changes so capacity, seats, sales stats, the attendee's email and
+    // the journal always move together. Leaving CANCELLED takes the tickets again and assigns fresh seats, since the
+    // old ones were released.
+    private void applyStatusChange(Reservation reservation, ReservationStatus status) {
         ReservationStatus oldStatus = reservation.getStatus();
         reservation.setStatus(status);
         
-        // Handle capacity changes based on status change
-        if (oldStatus == ReservationStatus.CONFIRMED && status == ReservationStatus.CANCELLED) {
-            eventService.increaseEventCapacity(reservation.getEvent().getId(), reservation.getNumberOfTickets());
-        } else if (oldStatus == ReservationStatus.CANCELLED && status == ReservationStatus.CONFIRMED) {
-            eventService.decreaseEventCapacity(reservation.getEvent().getId(), reservation.getNumberOfTickets());
+        Long eventId = reservation.getEvent().getId();
+        if (oldStatus != ReservationStatus.CANCELLED && status == ReservationStatus.CANCELLED) {
+            eventService.increaseEventCapacity(eventId, reservation.getNumberOfTickets());
+            seatInventoryService.releaseSeats(eventId, reservation.getId());
+            outboxService.enqueueCancellation(reservation);
+        } else if (oldStatus == ReservationStatus.CANCELLED && status != ReservationStatus.CANCELLED) {
+            // Both throw when the tickets or seats are gone, rolling the status change back
+            eventService.decreaseEventCapacity(eventId, reservation.getNumberOfTickets());
+            List<String> seats = seatInventoryService.assignSeats(eventId, reservation.getId(), reservation.getNumberOfTickets());
+            outboxService.enqueueBookingConfirmation(reservation, seats);
         }
         
-        reservation = reservationRepository.save(reservation);
-        return convertToDto(reservation);
+        reservationRepository.save(reservation);
+        salesStatsService.recordStatusChange(reservation, oldStatus, status);
+        bookingJournal.recordRow(BookingJournal.RESERVATIONS, reservation.getId());
+    }
+    
+    private RuntimeException rejectBooking(String reason, String message) {
+        meterRegistry.counter("booking.rejections", "reason", reason).increment();
+        return new RuntimeException(message);
     }
     
     private ReservationDto convertToDto(Reservation reservation) {
@@ -172,4 +292,10 @@ public class ReservationService {
         
         return dto;
     }
+    
+    private ReservationDto convertToDtoWithSeats(Reservation reservation) {
+        ReservationDto dto = convertToDto(reservation);
+        dto.setSeats(seatInventoryService.getSeatLabels(dto.getEventId(), dto.getId()));
+        return dto;
+    }
 }
\ No newline at end of file
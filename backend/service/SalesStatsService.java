@@ -0,0 +1,242 @@
+package com.eventreservation.service;
+
+import com.eventreservation.dto.SalesStatsDto;
+import com.eventreservation.model.EventCategory;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.model.ReservationStatus;
+import com.eventreservation.repository.ArchivedReservationRepository;
+import com.eventreservation.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class SalesStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SalesStatsService.class);
+    
+    @Autowired
+    private ReservationRepository reservationRepository;
+    
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+    
+    private volatile Map<Long, Counters> eventCounters = new ConcurrentHashMap<>();
+    private volatile Map<EventCategory, Counters> categoryCounters = new ConcurrentHashMap<>();
+    // Changes committed while reconcile is reading, replayed onto the rebuilt maps before they are swapped in.
+    // Recorders share the read lock; reconcile takes the write lock only to start capturing and to swap.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Queue<Delta> captured;
+    
+    // Called from ReservationService inside the booking transaction; counters move only once it commits
+    public void recordStatusChange(Reservation reservation, ReservationStatus oldStatus, ReservationStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        Delta delta = new Delta(reservation.getEvent().getId(), reservation.getEvent().getCategory(), oldStatus, newStatus,
+                reservation.getNumberOfTickets(), toCents(reservation.getTotalAmount()));
+        
+        runAfterCommit(() -> {
+            swapLock.readLock().lock();
+            try {
+                apply(eventCounters, categoryCounters, delta);
+                if (captured != null) {
+                    captured.add(delta);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        });
+    }
+    
+    public SalesStatsDto getEventStats(Long eventId) {
+        Counters counters = eventCounters.get(eventId);
+        if (counters == null) {
+            return new SalesStatsDto(eventId, null, 0, 0, BigDecimal.ZERO.setScale(2), 0, 0);
+        }
+        return counters.toDto(eventId);
+    }
+    
+    public List<SalesStatsDto> getAllEventStats() {
+        return eventCounters.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(SalesStatsDto::getTicketsSold).reversed())
+                .toList();
+    }
+    
+    public List<SalesStatsDto> getCategoryStats() {
+        return categoryCounters.values().stream()
+                .map(counters -> counters.toDto(null))
+                .sorted(Comparator.comparing(SalesStatsDto::getRevenue).reversed())
+                .toList();
+    }
+    
+    public SalesStatsDto getTotals() {
+        Counters total = new Counters(null);
+        for (Counters counters : eventCounters.values()) {
+            total.add(counters);
+        }
+        return total.toDto(null);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+    
+    // Rebuild from the database and swap in atomically; corrects any drift from crashes or direct SQL updates
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}", initialDelayString = "${stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Queue<Delta> changes = new ConcurrentLinkedQueue<>();
+        setCaptured(changes);
+        
+        Map<Long, Counters> rebuiltEvents = new ConcurrentHashMap<>();
+        Map<EventCategory, Counters> rebuiltCategories = new ConcurrentHashMap<>();
+        try {
+            readSales(rebuiltEvents, rebuiltCategories);
+        } catch (RuntimeException e) {
+            setCaptured(null);
+            throw e;
+        }
+        
+        swapLock.writeLock().lock();
+        try {
+            // A change committed just before the read started can be counted twice; the next reconcile corrects it
+            for (Delta delta : changes) {
+                apply(rebuiltEvents, rebuiltCategories, delta);
+            }
+            eventCounters = rebuiltEvents;
+            categoryCounters = rebuiltCategories;
+            captured = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.debug("Reconciled sales stats for {} events", rebuiltEvents.size());
+    }
+    
+    private void setCaptured(Queue<Delta> changes) {
+        swapLock.writeLock().lock();
+        try {
+            captured = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+    
+    private void readSales(Map<Long, Counters> rebuiltEvents, Map<EventCategory, Counters> rebuiltCategories) {
+        List<Object[]> rows = new ArrayList<>(reservationRepository.aggregateSalesByEventAndStatus());
+        // Archived events are gone from the reservations table but their sales still count
+        rows.addAll(archivedReservationRepository.aggregateArchivedSales());
+        for (Object[] row : rows) {
+            Long eventId = (Long) row[0];
+            EventCategory category = (EventCategory) row[1];
+            ReservationStatus status = (ReservationStatus) row[2];
+            long count = ((Number) row[3]).longValue();
+            long tickets = row[4] != null ? ((Number) row[4]).longValue() : 0;
+            long amountCents = toCents((BigDecimal) row[5]);
+            
+            rebuiltEvents.computeIfAbsent(eventId, id -> new Counters(category)).addBucket(status, count, tickets, amountCents);
+            if (category != null) {
+                rebuiltCategories.computeIfAbsent(category, c -> new Counters(c)).addBucket(status, count, tickets, amountCents);
+            }
+        }
+    }
+    
+    private void apply(Map<Long, Counters> events, Map<EventCategory, Counters> categories, Delta delta) {
+        apply(events.computeIfAbsent(delta.eventId(), id -> new Counters(delta.category())),
+                delta.oldStatus(), delta.newStatus(), delta.tickets(), delta.amountCents());
+        if (delta.category() != null) {
+            apply(categories.computeIfAbsent(delta.category(), c -> new Counters(c)),
+                    delta.oldStatus(), delta.newStatus(), delta.tickets(), delta.amountCents());
+        }
+    }
+    
+    private void apply(Counters counters, ReservationStatus oldStatus, ReservationStatus newStatus, int tickets, long amountCents) {
+        if (oldStatus != null) {
+            counters.addBucket(oldStatus, -1, -tickets, -amountCents);
+        }
+        counters.addBucket(newStatus, 1, tickets, amountCents);
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).longValue();
+    }
+    
+    private static boolean isSold(ReservationStatus status) {
+        return status == ReservationStatus.CONFIRMED || status == ReservationStatus.COMPLETED;
+    }
+    
+    private record Delta(Long eventId, EventCategory category, ReservationStatus oldStatus, ReservationStatus newStatus,
+                         int tickets, long amountCents) {}
+    
+    private static class Counters {
+        private final EventCategory category;
+        private final LongAdder reservations = new LongAdder();
+        private final LongAdder ticketsSold = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder cancellations = new LongAdder();
+        private final LongAdder cancelledTickets = new LongAdder();
+        
+        Counters(EventCategory category) {
+            this.category = category;
+        }
+        
+        void addBucket(ReservationStatus status, long count, long tickets, long amountCents) {
+            if (isSold(status)) {
+                reservations.add(count);
+                ticketsSold.add(tickets);
+                revenueCents.add(amountCents);
+            } else if (status == ReservationStatus.CANCELLED) {
+                cancellations.add(count);
+                cancelledTickets.add(tickets);
+            }
+        }
+        
+        void add(Counters other) {
+            reservations.add(other.reservations.sum());
+            ticketsSold.add(other.ticketsSold.sum());
+            revenueCents.add(other.revenueCents.sum());
+            cancellations.add(other.cancellations.sum());
+            cancelledTickets.add(other.cancelledTickets.sum());
+        }
+        
+        SalesStatsDto toDto(Long eventId) {
+            return new SalesStatsDto(eventId, category != null ? category.name() : null,
+                    reservations.sum(), ticketsSold.sum(), BigDecimal.valueOf(revenueCents.sum(), 2),
+                    cancellations.sum(), cancelledTickets.sum());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,242 @@
+package com.eventreservation.service;
+
+import com.eventreservation.dto.SeatMapDto;
+import com.eventreservation.dto.SeatSectionDto;
+import com.eventreservation.model.Event;
+import com.eventreservation.model.SeatAssignment;
+import com.eventreservation.model.SeatSection;
+import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.SeatAssignmentRepository;
+import com.eventreservation.repository.SeatSectionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigned seating. An event with a seat map sells seats, not just tickets: its capacity is the
+ * seat count, and every booking takes seats from an in-memory {@link SeatMap} and records them
+ * in seat_assignments in the same transaction as the capacity decrement, so the two stay equal.
+ * Seats are handed back to the map if that transaction rolls back. The cached map is only replaced
+ * when the layout changes, and a periodic check compares the tables with the events' capacity.
+ */
+@Service
+@Transactional
+public class SeatInventoryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+    
+    @Autowired
+    private SeatSectionRepository seatSectionRepository;
+    
+    @Autowired
+    private SeatAssignmentRepository seatAssignmentRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Empty for events sold as general admission
+    private final Map<Long, Optional<SeatMap>> seatMaps = new ConcurrentHashMap<>();
+    private final AtomicInteger inconsistentEvents = new AtomicInteger();
+    
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("seat.inventory.inconsistent", inconsistentEvents, AtomicInteger::get)
+                .description("Seated events whose capacity disagreed with their seat assignments at the last check")
+                .register(meterRegistry);
+    }
+    
+    @Transactional(readOnly = true)
+    public boolean hasSeatMap(Long eventId) {
+        return getSeatMap(eventId).isPresent();
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, Object> describeSeatMap(Long eventId) {
+        SeatMap seatMap = getSeatMap(eventId)
+                .orElseThrow(() -> new RuntimeException("Event has no seat map"));
+        return describe(eventId, seatMap);
+    }
+    
+    // Replaces the layout; only allowed before any tickets are sold, since it resets capacity
+    public Map<String, Object> defineSeatMap(Long eventId, SeatMapDto seatMapDto) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (seatAssignmentRepository.existsByEventId(eventId) || event.getAvailableCapacity() < event.getTotalCapacity()) {
+            throw new RuntimeException("The seat map can't be changed once tickets have been sold");
+        }
+        
+        List<SeatSectionDto> sectionDtos = new ArrayList<>(seatMapDto.getSections());
+        sectionDtos.sort(Comparator.comparing(SeatSectionDto::getPriority));
+        List<SeatSection> sections = new ArrayList<>();
+        int seats = 0;
+        for (SeatSectionDto dto : sectionDtos) {
+            SeatSection section = new SeatSection(eventId, dto.getName(), dto.getPriority(), dto.getRowCount(), dto.getSeatsPerRow(), seats);
+            seats += section.getSeatCount();
+            sections.add(section);
+        }
+        seatSectionRepository.deleteByEventIds(List.of(eventId));
+        seatSectionRepository.saveAll(sections);
+        
+        event.setTotalCapacity(seats);
+        event.setAvailableCapacity(seats);
+        eventRepository.save(event);
+        availabilityStreamService.publish(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, CatalogChangedEvent.ChangeType.UPDATED));
+        // The new layout is loaded on next use
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatMaps.remove(eventId);
+            }
+        });
+        
+        return describe(eventId, new SeatMap(sections));
+    }
+    
+    // Returns seat labels, or null for general admission; must run inside the booking transaction
+    List<String> assignSeats(Long eventId, Long reservationId, int count) {
+        Optional<SeatMap> found = getSeatMap(eventId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        SeatMap seatMap = found.get();
+        int[] seats = seatMap.allocateBest(count);
+        if (seats == null) {
+            throw new RuntimeException("Not enough seats available. Available: " + seatMap.getAvailable());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    seatMap.release(seats);
+                }
+            }
+        });
+        
+        List<SeatAssignment> assignments = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (int seat : seats) {
+            assignments.add(new SeatAssignment(eventId, seat, reservationId));
+            labels.add(seatMap.label(seat));
+        }
+        try {
+            seatAssignmentRepository.saveAll(assignments);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance sold one of these seats; reload the map from the table next time
+            seatMaps.remove(eventId);
+            throw new RuntimeException("Those seats were just taken, please try again");
+        }
+        boolean adjacent = seats[seats.length - 1] - seats[0] == seats.length - 1;
+        meterRegistry.counter("seat.allocations", "adjacent", String.valueOf(adjacent)).increment();
+        return labels;
+    }
+    
+    // Frees a cancelled reservation's seats once the cancellation commits
+    void releaseSeats(Long eventId, Long reservationId) {
+        Optional<SeatMap> found = getSeatMap(eventId);
+        if (found.isEmpty()) {
+            return;
+        }
+        int[] seats = seatAssignmentRepository.findSeatsByReservationId(reservationId).stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+        if (seats.length == 0) {
+            return;
+        }
+        seatAssignmentRepository.deleteByReservationId(reservationId);
+        SeatMap seatMap = found.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatMap.release(seats);
+            }
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> getSeatLabels(Long eventId, Long reservationId) {
+        Optional<SeatMap> found = getSeatMap(eventId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        List<String> labels = new ArrayList<>();
+        for (Integer seat : seatAssignmentRepository.findSeatsByReservationId(reservationId)) {
+            labels.add(found.get().label(seat));
+        }
+        return labels;
+    }
+    
+    // Other edits leave the layout alone. Dropping the map on them would let a reload from the table
+    // miss seats held by bookings that haven't committed yet, and hand those seats out twice.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent change) {
+        if (change.getChangeType() == CatalogChangedEvent.ChangeType.DELETED) {
+            seatMaps.remove(change.getEventId());
+        }
+    }
+    
+    // Sold tickets must equal assigned seats and capacity the layout's seat count; counts a mismatch,
+    // and drops the cached map so it is rebuilt from seat_assignments
+    @Scheduled(fixedDelayString = "${seats.consistency-check-interval-ms:300000}", initialDelayString = "${seats.consistency-check-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void checkConsistency() {
+        List<Long> inconsistent = seatAssignmentRepository.findInconsistentEventIds();
+        for (Long eventId : inconsistent) {
+            logger.warn("Seat assignments for event {} don't match its capacity", eventId);
+            seatMaps.remove(eventId);
+        }
+        inconsistentEvents.set(inconsistent.size());
+    }
+    
+    private Map<String, Object> describe(Long eventId, SeatMap seatMap) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("eventId", eventId);
+        response.put("capacity", seatMap.getCapacity());
+        response.put("available", seatMap.getAvailable());
+        response.put("sections", seatMap.describe());
+        return response;
+    }
+    
+    private Optional<SeatMap> getSeatMap(Long eventId) {
+        return seatMaps.computeIfAbsent(eventId, this::loadSeatMap);
+    }
+    
+    private Optional<SeatMap> loadSeatMap(Long eventId) {
+        List<SeatSection> sections = seatSectionRepository.findByEventIdOrderByPriorityAscIdAsc(eventId);
+        if (sections.isEmpty()) {
+            return Optional.empty();
+        }
+        SeatMap seatMap = new SeatMap(sections);
+        seatMap.take(seatAssignmentRepository.findTakenSeats(eventId));
+        return Optional.of(seatMap);
+    }
+}
\ No newline at end of file
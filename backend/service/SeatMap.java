@@ -0,0 +1,215 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.SeatSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat availability for one event as a bitset with a 1 for every free seat. Each row occupies a
+ * contiguous bit range, so free runs are found with numberOfTrailingZeros over whole words rather
+ * than seat by seat. Rows are kept in best-first order (section priority, then front to back).
+ */
+public class SeatMap {
+    
+    private final long[] free;
+    private final int[] rowStart;
+    private final int[] rowLength;
+    private final String[] rowLabel;
+    private final String[] rowSection;
+    private int available;
+    
+    // Sections must come in priority order with firstSeatIndex assigned in that same order
+    SeatMap(List<SeatSection> sections) {
+        int rows = sections.stream().mapToInt(SeatSection::getRowCount).sum();
+        int seats = sections.stream().mapToInt(SeatSection::getSeatCount).sum();
+        free = new long[(seats + 63) >>> 6];
+        rowStart = new int[rows];
+        rowLength = new int[rows];
+        rowLabel = new String[rows];
+        rowSection = new String[rows];
+        
+        int row = 0;
+        for (SeatSection section : sections) {
+            for (int r = 0; r < section.getRowCount(); r++, row++) {
+                rowStart[row] = section.getFirstSeatIndex() + r * section.getSeatsPerRow();
+                rowLength[row] = section.getSeatsPerRow();
+                rowLabel[row] = rowName(r);
+                rowSection[row] = section.getName();
+            }
+        }
+        setRange(0, seats, true);
+        available = seats;
+    }
+    
+    public synchronized int getAvailable() {
+        return available;
+    }
+    
+    public int getCapacity() {
+        return rowStart.length == 0 ? 0 : rowStart[rowStart.length - 1] + rowLength[rowLength.length - 1];
+    }
+    
+    /**
+     * Takes the best block of count adjacent seats: the first row in best-first order that has
+     * one, centred as closely as the free runs allow. When no row has a block that size the best
+     * individual seats are taken instead. Returns null, taking nothing, if too few seats are free.
+     */
+    synchronized int[] allocateBest(int count) {
+        if (count <= 0 || count > available) {
+            return null;
+        }
+        for (int row = 0; row < rowStart.length; row++) {
+            if (rowLength[row] < count) {
+                continue;
+            }
+            int start = bestRun(row, count);
+            if (start >= 0) {
+                setRange(start, start + count, false);
+                available -= count;
+                int[] seats = new int[count];
+                for (int i = 0; i < count; i++) {
+                    seats[i] = start + i;
+                }
+                return seats;
+            }
+        }
+        
+        int[] seats = new int[count];
+        int taken = 0;
+        for (int row = 0; row < rowStart.length && taken < count; row++) {
+            int end = rowStart[row] + rowLength[row];
+            for (int seat = nextFree(rowStart[row], end); seat < end && taken < count; seat = nextFree(seat + 1, end)) {
+                seats[taken++] = seat;
+            }
+        }
+        for (int seat : seats) {
+            setRange(seat, seat + 1, false);
+        }
+        available -= count;
+        return seats;
+    }
+    
+    // Marks seats already sold elsewhere (loading from the database); unknown or taken seats are ignored
+    synchronized void take(Iterable<Integer> seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && seat < getCapacity() && isFree(seat)) {
+                setRange(seat, seat + 1, false);
+                available--;
+            }
+        }
+    }
+    
+    synchronized void release(int[] seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && seat < getCapacity() && !isFree(seat)) {
+                setRange(seat, seat + 1, true);
+                available++;
+            }
+        }
+    }
+    
+    public String label(int seat) {
+        int row = Arrays.binarySearch(rowStart, seat);
+        if (row < 0) {
+            row = -row - 2;
+        }
+        return rowSection[row] + " " + rowLabel[row] + (seat - rowStart[row] + 1);
+    }
+    
+    // Section name to rows, each row a string of 'o' (free) and 'x' (taken) from seat 1 upwards
+    public synchronized Map<String, List<Map<String, String>>> describe() {
+        Map<String, List<Map<String, String>>> sections = new LinkedHashMap<>();
+        for (int row = 0; row < rowStart.length; row++) {
+            StringBuilder seats = new StringBuilder(rowLength[row]);
+            for (int seat = rowStart[row]; seat < rowStart[row] + rowLength[row]; seat++) {
+                seats.append(isFree(seat) ? 'o' : 'x');
+            }
+            Map<String, String> line = new LinkedHashMap<>();
+            line.put("row", rowLabel[row]);
+            line.put("seats", seats.toString());
+            sections.computeIfAbsent(rowSection[row], name -> new ArrayList<>()).add(line);
+        }
+        return sections;
+    }
+    
+    // Start of the free run of count seats closest to the row's centre, or -1 if none fits
+    private int bestRun(int row, int count) {
+        int start = rowStart[row];
+        int end = start + rowLength[row];
+        double centre = start + rowLength[row] / 2.0;
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        
+        int runStart = nextFree(start, end);
+        while (runStart < end) {
+            int runEnd = nextTaken(runStart, end);
+            if (runEnd - runStart >= count) {
+                int candidate = (int) Math.round(centre - count / 2.0);
+                candidate = Math.max(runStart, Math.min(runEnd - count, candidate));
+                double distance = Math.abs(candidate + count / 2.0 - centre);
+                if (distance < bestDistance) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+            runStart = nextFree(runEnd, end);
+        }
+        return best;
+    }
+    
+    private int nextFree(int from, int to) {
+        if (from >= to) {
+            return to;
+        }
+        int word = from >>> 6;
+        long bits = free[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word << 6 >= to) {
+                return to;
+            }
+            bits = free[word];
+        }
+        return Math.min(to, (word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+    
+    private int nextTaken(int from, int to) {
+        if (from >= to) {
+            return to;
+        }
+        int word = from >>> 6;
+        long bits = ~free[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word << 6 >= to) {
+                return to;
+            }
+            bits = ~free[word];
+        }
+        return Math.min(to, (word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+    
+    private boolean isFree(int seat) {
+        return (free[seat >>> 6] & (1L << seat)) != 0;
+    }
+    
+    private void setRange(int from, int to, boolean value) {
+        int seat = from;
+        while (seat < to) {
+            int word = seat >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long mask = (-1L >>> (64 - (end - seat))) << seat;
+            free[word] = value ? free[word] | mask : free[word] & ~mask;
+            seat = end;
+        }
+    }
+    
+    // A..Z, then AA..ZZ
+    private static String rowName(int row) {
+        return row < 26
+                ? String.valueOf((char) ('A' + row))
+                : String.valueOf((char) ('A' + row / 26 - 1)) + (char) ('A' + row % 26);
+    }
+}
\ No newline at end of file
@@ -24,7 +24,11 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private BookingJournal bookingJournal;
+    
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findActiveUserByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
@@ -42,17 +46,22 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(registrationDto.getPassword()));
         user.setPhoneNumber(registrationDto.getPhoneNumber());
         
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        bookingJournal.recordRow(BookingJournal.USERS, user.getId());
+        return user;
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -65,7 +74,9 @@ public class UserService implements UserDetailsService {
         user.setLastName(updatedUser.getLastName());
         user.setPhoneNumber(updatedUser.getPhoneNumber());
         
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        bookingJournal.recordRow(BookingJournal.USERS, user.getId());
+        return user;
     }
     
     public void deleteUser(Long userId) {
@@ -73,12 +84,15 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("User not found");
         }
         userRepository.deleteById(userId);
+        bookingJournal.recordDelete(BookingJournal.USERS, userId);
     }
     
+    // Left on the primary: a lagging replica would let a duplicate registration through to the constraint
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public User getCurrentUser(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Current user not found"));
@@ -0,0 +1,254 @@
+package com.eventreservation.service;
+
+import com.eventreservation.dto.ReservationDto;
+import com.eventreservation.dto.WaitlistEntryDto;
+import com.eventreservation.model.Event;
+import com.eventreservation.model.EventStatus;
+import com.eventreservation.model.User;
+import com.eventreservation.model.WaitlistEntry;
+import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.ReservationRepository;
+import com.eventreservation.repository.UserRepository;
+import com.eventreservation.repository.WaitlistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event FIFO waitlist. Users join once instead of retrying bookings; whenever an event's capacity
+ * or status changes it is marked dirty, and the allocator books released tickets in join order, one
+ * entry per transaction. An entry that wants more tickets than are left keeps its place and the
+ * allocator moves on to smaller requests behind it, so released tickets are never left unsold.
+ */
+@Service
+@Transactional
+public class WaitlistService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private ReservationRepository reservationRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ReservationService reservationService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${waitlist.max-tickets:10}")
+    private int maxTickets;
+    
+    // Events that need an allocation pass, each with the sequence of its latest mark. A pass only clears
+    // the mark it started from, so a release landing mid-pass leaves the event marked for the next one.
+    private final Map<Long, Long> dirtyEvents = new ConcurrentHashMap<>();
+    private final AtomicLong markSequence = new AtomicLong();
+    
+    public WaitlistEntryDto joinWaitlist(WaitlistEntryDto request, String userEmail) {
+        User user = userService.getCurrentUser(userEmail);
+        Event event = eventRepository.findById(request.getEventId())
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        
+        if (event.getStatus() != EventStatus.ACTIVE || !event.getEventDateTime().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Event is not open for booking");
+        }
+        if (request.getNumberOfTickets() > Math.min(maxTickets, event.getTotalCapacity())) {
+            throw new RuntimeException("Too many tickets requested for the waitlist");
+        }
+        if (reservationRepository.existsByUserIdAndEventId(user.getId(), event.getId())) {
+            throw new RuntimeException("You already have a reservation for this event");
+        }
+        if (waitlistRepository.isWaiting(event.getId(), user.getId())) {
+            throw new RuntimeException("You are already on the waitlist for this event");
+        }
+        if (event.getAvailableCapacity() >= request.getNumberOfTickets() && !reservationService.isHeldForWaitlist(event)) {
+            throw new RuntimeException("Tickets are available, please book directly");
+        }
+        
+        WaitlistEntry entry;
+        try {
+            entry = waitlistRepository.saveAndFlush(new WaitlistEntry(event.getId(), user.getId(), request.getNumberOfTickets()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent join by the same user won the unique key
+            throw new RuntimeException("You are already on the waitlist for this event");
+        }
+        meterRegistry.counter("waitlist.joined").increment();
+        // Capacity may have been released between the checks above and the insert. Marked after commit,
+        // since a pass that ran before then wouldn't see the entry and would clear the mark anyway.
+        Long eventId = event.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markDirty(eventId);
+            }
+        });
+        return convertToDto(entry, event.getTitle());
+    }
+    
+    public WaitlistEntryDto leaveWaitlist(Long entryId, String userEmail) {
+        User user = userService.getCurrentUser(userEmail);
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .filter(e -> e.getUserId().equals(user.getId()))
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+        // Conditional, so leaving can't overwrite a promotion that is committing on another thread
+        if (waitlistRepository.leave(entryId) == 0) {
+            throw new RuntimeException("Waitlist entry is no longer waiting");
+        }
+        entry.setStatus(WaitlistEntry.Status.LEFT);
+        return convertToDto(entry, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getUserWaitlist(String userEmail) {
+        User user = userService.getCurrentUser(userEmail);
+        List<WaitlistEntryDto> entries = new ArrayList<>();
+        for (WaitlistEntry entry : waitlistRepository.findByUserIdOrderByCreatedAtDesc(user.getId())) {
+            String title = eventRepository.findById(entry.getEventId()).map(Event::getTitle).orElse(null);
+            entries.add(convertToDto(entry, title));
+        }
+        return entries;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent change) {
+        if (change.getChangeType() != CatalogChangedEvent.ChangeType.CREATED) {
+            markDirty(change.getEventId());
+        }
+    }
+    
+    private void markDirty(Long eventId) {
+        dirtyEvents.put(eventId, markSequence.incrementAndGet());
+    }
+    
+    // Picks up queues left mid-allocation by a restart
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        waitlistRepository.findEventIdsWithWaiting().forEach(this::markDirty);
+    }
+    
+    @Scheduled(fixedDelayString = "${waitlist.allocate-interval-ms:500}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void allocate() {
+        for (Map.Entry<Long, Long> mark : List.copyOf(dirtyEvents.entrySet())) {
+            Long eventId = mark.getKey();
+            try {
+                allocate(eventId);
+            } catch (RuntimeException e) {
+                // Left marked, so the next pass retries it
+                logger.warn("Waitlist allocation for event {} failed, will retry: {}", eventId, e.getMessage());
+                continue;
+            }
+            dirtyEvents.remove(eventId, mark.getValue());
+        }
+    }
+    
+    // Walks the queue in join order until the event runs out of tickets or stops being bookable
+    private void allocate(Long eventId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long afterId = 0;
+        while (true) {
+            List<WaitlistEntry> page = waitlistRepository.findWaitingAfter(eventId, afterId, PageRequest.of(0, 20));
+            if (page.isEmpty()) {
+                return;
+            }
+            for (WaitlistEntry entry : page) {
+                Boolean more = transaction.execute(status -> promote(entry.getId()));
+                if (!Boolean.TRUE.equals(more)) {
+                    return;
+                }
+                afterId = entry.getId();
+            }
+        }
+    }
+    
+    // True if the allocator should go on to the next entry; false once nothing further back can be booked
+    private boolean promote(Long entryId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            return true;
+        }
+        Event event = eventRepository.findById(entry.getEventId()).orElse(null);
+        if (event == null) {
+            entry.setStatus(WaitlistEntry.Status.EXPIRED);
+            waitlistRepository.save(entry);
+            return true;
+        }
+        if (!event.isBookable()) {
+            return false;
+        }
+        if (event.getAvailableCapacity() < entry.getNumberOfTickets()) {
+            // Keeps its place for the next release; a smaller request behind it may still fit
+            return event.getAvailableCapacity() > 0;
+        }
+        // An allocator on another instance claimed it first
+        if (waitlistRepository.claim(entryId) == 0) {
+            return true;
+        }
+        User user = userRepository.findById(entry.getUserId()).orElse(null);
+        if (user == null || reservationRepository.existsByUserIdAndEventId(user.getId(), event.getId())) {
+            entry.setStatus(WaitlistEntry.Status.SKIPPED);
+            waitlistRepository.save(entry);
+            return true;
+        }
+        
+        ReservationDto created = reservationService.promoteFromWaitlist(
+                new ReservationDto(event.getId(), entry.getNumberOfTickets(), null), user.getEmail());
+        entry.setStatus(WaitlistEntry.Status.PROMOTED);
+        entry.setReservationId(created.getId());
+        waitlistRepository.save(entry);
+        meterRegistry.counter("waitlist.promoted").increment();
+        return true;
+    }
+    
+    private WaitlistEntryDto convertToDto(WaitlistEntry entry, String eventTitle) {
+        WaitlistEntryDto dto = new WaitlistEntryDto();
+        dto.setId(entry.getId());
+        dto.setEventId(entry.getEventId());
+        dto.setEventTitle(eventTitle);
+        dto.setNumberOfTickets(entry.getNumberOfTickets());
+        dto.setStatus(entry.getStatus().name());
+        dto.setReservationId(entry.getReservationId());
+        dto.setCreatedAt(entry.getCreatedAt());
+        if (entry.getStatus() == WaitlistEntry.Status.WAITING) {
+            dto.setPosition(waitlistRepository.countAhead(entry.getEventId(), entry.getId()) + 1);
+        }
+        return dto;
+    }
+}
\ No newline at end of file
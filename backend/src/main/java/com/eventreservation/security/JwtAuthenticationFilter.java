@@ -1,6 +1,10 @@
 package com.eventreservation.security;
 
 import com.eventreservation.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,21 +29,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer authenticationTimer;
+    private Counter invalidTokenCounter;
+    
+    @PostConstruct
+    void registerMeters() {
+        authenticationTimer = Timer.builder("auth.jwt.authenticate")
+                .description("JWT parsing, validation and user lookup per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        invalidTokenCounter = Counter.builder("auth.jwt.invalid")
+                .description("Requests carrying an invalid or expired token")
+                .register(meterRegistry);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         String jwt = getJwtFromRequest(request);
         
-        if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-            String username = jwtUtil.extractUsername(jwt);
-            
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                // Usually already verified by RateLimitFilter; the parser rejects bad signatures and expired tokens
+                String username = jwtUtil.getVerifiedSubject(request, jwt);
+                if (username != null) {
+                    UserDetails userDetails = userService.loadUserByUsername(username);
+                    if (username.equals(userDetails.getUsername())) {
+                        UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                } else {
+                    invalidTokenCounter.increment();
+                }
+            } finally {
+                sample.stop(authenticationTimer);
             }
         }
         
@@ -2,6 +2,7 @@ package com.eventreservation.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -15,6 +16,9 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
     
+    // Set by whichever filter checks the bearer token first; "" marks a token that failed the check
+    public static final String SUBJECT_ATTRIBUTE = JwtUtil.class.getName() + ".subject";
+    
     @Value("${jwt.secret}")
     private String secret;
     
@@ -79,6 +83,26 @@ public class JwtUtil {
         }
     }
     
+    // Subject of a token with a valid signature that hasn't expired, or null; one parse instead of validate then extract
+    public String extractVerifiedSubject(String token) {
+        try {
+            return extractUsername(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    // Verified subject of the request's bearer token, parsed once per request and shared between the filters
+    public String getVerifiedSubject(HttpServletRequest request, String token) {
+        Object cached = request.getAttribute(SUBJECT_ATTRIBUTE);
+        if (cached instanceof String subject) {
+            return subject.isEmpty() ? null : subject;
+        }
+        String subject = extractVerifiedSubject(token);
+        request.setAttribute(SUBJECT_ATTRIBUTE, subject != null ? subject : "");
+        return subject;
+    }
+    
     public Boolean validateToken(String token) {
         try {
             Jwts.parserBuilder()
@@ -0,0 +1,195 @@
+package com.eventreservation.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route token buckets keyed by the JWT subject, or by client IP for anonymous and invalid-token
+ * requests. Runs before JwtAuthenticationFilter, so a throttled client costs a signature check but
+ * no user lookup, and the verified subject is left on the request for that filter to reuse. The
+ * address is the client's as resolved from X-Forwarded-For (server.forward-headers-strategy).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String[] POLICIES = {"login", "register", "booking", "default"};
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+    
+    private final Map<String, Policy> policies = new HashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private Counter evictions;
+    
+    @PostConstruct
+    void createPolicies() {
+        for (String name : POLICIES) {
+            String prefix = "rate-limit.policies." + name + ".";
+            policies.put(name, new Policy(name,
+                    environment.getProperty(prefix + "capacity", Integer.class, 100),
+                    environment.getProperty(prefix + "refill-per-second", Double.class, 50.0),
+                    meterRegistry));
+        }
+        Gauge.builder("ratelimit.keys", buckets, Map::size)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+        evictions = meterRegistry.counter("ratelimit.evictions");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Policy policy = policyFor(request.getMethod(), request.getServletPath());
+        if (!enabled || policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        long now = System.nanoTime();
+        String key = policy.name + ":" + clientKey(request);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(policy.capacity, policy.refillPerSecond, now));
+        }
+        
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            policy.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        policy.limited.increment();
+        reject(response, waitNanos);
+    }
+    
+    static String policyName(String method, String path) {
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        if ("POST".equals(method) && path.equals("/auth/login")) {
+            return "login";
+        }
+        if ("POST".equals(method) && path.equals("/auth/register")) {
+            return "register";
+        }
+        if (("POST".equals(method) && path.equals("/reservations"))
+                || ("PUT".equals(method) && path.startsWith("/reservations/") && path.endsWith("/cancel"))) {
+            return "booking";
+        }
+        if (path.startsWith("/actuator/") || path.endsWith("/availability/stream")) {
+            return null;
+        }
+        return "default";
+    }
+    
+    private Policy policyFor(String method, String path) {
+        String name = policyName(method, path);
+        return name != null ? policies.get(name) : null;
+    }
+    
+    // Signed subject when the token checks out; anything else counts against the caller's address
+    private String clientKey(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            String subject = jwtUtil.getVerifiedSubject(request, bearerToken.substring(7));
+            if (subject != null) {
+                return "user:" + subject;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many requests, please retry later");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+    
+    // Full buckets carry no state, so dropping them is free; if that isn't enough, shed arbitrary keys
+    private void evict(long now) {
+        long last = lastSweep.get();
+        if (now - last > TimeUnit.MILLISECONDS.toNanos(100) && lastSweep.compareAndSet(last, now)) {
+            sweepFullBuckets();
+        }
+        if (buckets.size() < maxKeys) {
+            return;
+        }
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:10000}")
+    public void sweepFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+    
+    private static class Policy {
+        
+        private final String name;
+        private final int capacity;
+        private final double refillPerSecond;
+        private final Counter allowed;
+        private final Counter limited;
+        
+        Policy(String name, int capacity, double refillPerSecond, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.allowed = meterRegistry.counter("ratelimit.requests", "policy", name, "outcome", "allowed");
+            this.limited = meterRegistry.counter("ratelimit.requests", "policy", name, "outcome", "limited");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.eventreservation.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket held as a single "theoretical arrival time" (the GCRA form), so taking a token is
+ * one compare-and-set with no lock. A bucket whose arrival time is in the past is full, which is
+ * what lets idle buckets be dropped and recreated without changing anyone's allowance.
+ */
+public class TokenBucket {
+    
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrivalTime;
+    
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.arrivalTime = new AtomicLong(nowNanos);
+    }
+    
+    // Returns 0 if a token was taken, otherwise how long until one will be available
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = arrivalTime.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long overdraft = next - nowNanos - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    public boolean isFull(long nowNanos) {
+        return arrivalTime.get() <= nowNanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.eventreservation.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        TokenBucket bucket = new TokenBucket(5, 10, 0);
+        
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        
+        // One token every 100ms, so the sixth is a full interval away
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND / 10);
+    }
+    
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        
+        assertThat(bucket.tryConsume(SECOND / 20)).isEqualTo(SECOND / 20);
+        assertThat(bucket.tryConsume(SECOND / 10)).isZero();
+        assertThat(bucket.tryConsume(SECOND / 10)).isPositive();
+    }
+    
+    @Test
+    void idleTimeDoesNotGrowTheBurstPastCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        long later = 60 * SECOND;
+        
+        assertThat(bucket.isFull(later)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+        assertThat(bucket.isFull(later)).isFalse();
+    }
+    
+    @Test
+    void concurrentCallersNeverTakeMoreThanCapacity() throws Exception {
+        int capacity = 50;
+        TokenBucket bucket = new TokenBucket(capacity, 1, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.eventreservation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingConcurrencyLimiterTest {
+    
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(1000);
+    
+    private SimpleMeterRegistry meterRegistry;
+    private BookingConcurrencyLimiter limiter;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = newLimiter(true);
+    }
+    
+    private BookingConcurrencyLimiter newLimiter(boolean enabled) {
+        BookingConcurrencyLimiter limiter = new BookingConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(limiter, "enabled", enabled);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 10);
+        ReflectionTestUtils.setField(limiter, "minLimit", 4);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 20);
+        ReflectionTestUtils.setField(limiter, "targetLatencyMs", 250L);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        limiter.registerMeters();
+        return limiter;
+    }
+    
+    @Test
+    void shedsOnceTheLimitIsInUse() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(meterRegistry.counter("booking.shed").count()).isEqualTo(1);
+        
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+    
+    @Test
+    void slowBookingCutsTheLimitOncePerInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+        
+        limiter.release(SLOW);
+        limiter.release(SLOW);
+        limiter.release(SLOW);
+        
+        // One slow spell ends many requests at once, so only the first of them backs off
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+    
+    @Test
+    void neverBacksOffBelowTheMinimum() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+            Thread.sleep(300);
+        }
+        
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+    
+    @Test
+    void growsOnlyWhileTheLimitIsTheConstraint() {
+        // Idle: one booking at a time never gets near the limit
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        
+        // Busy: about one step per limit's worth of fast completions
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < 10; i++) {
+                limiter.release(FAST);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+    
+    @Test
+    void releaseWithoutSampleFreesTheSlotAndLeavesTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release();
+        }
+        
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(meterRegistry.get("booking.concurrency.inflight").gauge().value()).isZero();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+    
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        BookingConcurrencyLimiter disabled = newLimiter(false);
+        for (int i = 0; i < 100; i++) {
+            assertThat(disabled.tryAcquire()).isTrue();
+        }
+    }
+}
\ No newline at end of file
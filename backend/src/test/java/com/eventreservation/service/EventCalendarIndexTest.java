@@ -0,0 +1,154 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.EventStatus;
+import com.eventreservation.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventCalendarIndexTest {
+    
+    private static final LocalDateTime JULY_1 = LocalDateTime.of(2025, 7, 1, 0, 0);
+    
+    private EventRepository eventRepository;
+    private EventCalendarIndex index;
+    private final List<Object[]> rows = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAllEventIntervals()).thenReturn(rows);
+        index = new EventCalendarIndex();
+        ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+    }
+    
+    private void row(long id, LocalDateTime start, LocalDateTime end, EventStatus status) {
+        rows.add(new Object[] {id, start, end, status, JULY_1});
+    }
+    
+    private Event event(long id, LocalDateTime start, LocalDateTime end, LocalDateTime updatedAt) {
+        Event event = new Event();
+        event.setId(id);
+        event.setEventDateTime(start);
+        event.setEndDateTime(end);
+        event.setStatus(EventStatus.ACTIVE);
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+    
+    @Test
+    void findsEventsOverlappingTheWindowInStartOrder() {
+        row(1, JULY_1.plusDays(2).withHour(20), JULY_1.plusDays(2).withHour(23), EventStatus.ACTIVE);
+        row(2, JULY_1.withHour(18), JULY_1.plusDays(3).withHour(12), EventStatus.ACTIVE);
+        row(3, JULY_1.plusDays(10), JULY_1.plusDays(10).plusHours(2), EventStatus.ACTIVE);
+        row(4, JULY_1.minusDays(1).withHour(22), JULY_1.withHour(1), EventStatus.ACTIVE);
+        
+        List<Long> found = index.findOverlapping(JULY_1.plusDays(1), JULY_1.plusDays(2).withHour(21));
+        
+        assertThat(found).containsExactly(2L, 1L);
+        assertThat(index.findOverlapping(JULY_1, JULY_1.withHour(2))).containsExactly(4L);
+    }
+    
+    @Test
+    void windowEdgesAreInclusive() {
+        row(1, JULY_1.withHour(10), JULY_1.withHour(12), EventStatus.ACTIVE);
+        
+        assertThat(index.findOverlapping(JULY_1.withHour(12), JULY_1.withHour(13))).containsExactly(1L);
+        assertThat(index.findOverlapping(JULY_1.withHour(8), JULY_1.withHour(10))).containsExactly(1L);
+        assertThat(index.findOverlapping(JULY_1.withHour(12).plusMinutes(1), JULY_1.withHour(13))).isEmpty();
+    }
+    
+    @Test
+    void eventWithoutEndOccupiesItsStart() {
+        row(1, JULY_1.withHour(19), null, EventStatus.ACTIVE);
+        
+        assertThat(index.findOverlapping(JULY_1.withHour(19), JULY_1.withHour(19))).containsExactly(1L);
+        assertThat(index.findOverlapping(JULY_1.withHour(20), JULY_1.withHour(23))).isEmpty();
+    }
+    
+    @Test
+    void reversedRangeIsEmpty() {
+        row(1, JULY_1, JULY_1.plusDays(5), EventStatus.ACTIVE);
+        
+        assertThat(index.findOverlapping(JULY_1.plusDays(3), JULY_1.plusDays(1))).isEmpty();
+    }
+    
+    @Test
+    void longEventsAreFoundAnywhereInTheirSpan() {
+        row(1, JULY_1.minusMonths(2), JULY_1.plusMonths(2), EventStatus.ACTIVE);
+        
+        assertThat(index.findOverlapping(JULY_1.plusDays(15), JULY_1.plusDays(16))).containsExactly(1L);
+        assertThat(index.findOverlapping(JULY_1.plusMonths(3), JULY_1.plusMonths(4))).isEmpty();
+    }
+    
+    @Test
+    void countsOnlyActiveEventsOnEachDay() {
+        row(1, JULY_1.withHour(20), JULY_1.plusDays(1).withHour(2), EventStatus.ACTIVE);
+        row(2, JULY_1.withHour(10), JULY_1.withHour(12), EventStatus.CANCELLED);
+        row(3, JULY_1.minusMonths(1), JULY_1.plusMonths(1), EventStatus.ACTIVE);
+        
+        Map<LocalDate, Integer> counts = index.countActiveByDay(YearMonth.of(2025, 7));
+        
+        assertThat(counts).hasSize(31);
+        assertThat(counts.get(LocalDate.of(2025, 7, 1))).isEqualTo(2);
+        assertThat(counts.get(LocalDate.of(2025, 7, 2))).isEqualTo(2);
+        assertThat(counts.get(LocalDate.of(2025, 7, 3))).isEqualTo(1);
+    }
+    
+    @Test
+    void followsMovedAndDeletedEvents() {
+        row(1, JULY_1.withHour(19), JULY_1.withHour(22), EventStatus.ACTIVE);
+        index.rebuild();
+        
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(
+                event(1, JULY_1.plusDays(7).withHour(19), JULY_1.plusDays(7).withHour(22), JULY_1.plusHours(1))));
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.UPDATED));
+        
+        assertThat(index.findOverlapping(JULY_1, JULY_1.plusDays(1))).isEmpty();
+        assertThat(index.findOverlapping(JULY_1.plusDays(7), JULY_1.plusDays(8))).containsExactly(1L);
+        
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.DELETED));
+        assertThat(index.findOverlapping(JULY_1.plusDays(7), JULY_1.plusDays(8))).isEmpty();
+    }
+    
+    @Test
+    void staleLoadDoesNotOverwriteNewerRow() {
+        index.rebuild();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(
+                event(1, JULY_1.plusDays(7), JULY_1.plusDays(7).plusHours(2), JULY_1.plusHours(2))));
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.CREATED));
+        
+        // A listener that loaded the row before the last update finishes late
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(
+                event(1, JULY_1, JULY_1.plusHours(2), JULY_1.plusHours(1))));
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.UPDATED));
+        
+        assertThat(index.findOverlapping(JULY_1, JULY_1.plusDays(1))).isEmpty();
+        assertThat(index.findOverlapping(JULY_1.plusDays(7), JULY_1.plusDays(8))).containsExactly(1L);
+    }
+    
+    @Test
+    void deletedEventIsNotBroughtBackByALateLoad() {
+        index.rebuild();
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.DELETED));
+        
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(
+                event(1, JULY_1, JULY_1.plusHours(2), JULY_1.plusHours(1))));
+        index.onCatalogChanged(new CatalogChangedEvent(1L, CatalogChangedEvent.ChangeType.UPDATED));
+        
+        assertThat(index.findOverlapping(JULY_1, JULY_1.plusDays(1))).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.eventreservation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyServiceTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService service;
+    private AtomicInteger runs;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+        ReflectionTestUtils.setField(service, "waitTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(service, "persist", false);
+        service.registerMeters();
+        runs = new AtomicInteger();
+    }
+    
+    private Supplier<ResponseEntity<?>> booking(HttpStatus status) {
+        return () -> ResponseEntity.status(status).body(Map.of("id", runs.incrementAndGet()));
+    }
+    
+    private double heldKeys() {
+        return meterRegistry.get("idempotency.entries").gauge().value();
+    }
+    
+    @Test
+    void replaysSuccessfulResponseWithoutRunningAgain() {
+        ResponseEntity<?> first = service.execute("key-1", "POST /reservations {a}", booking(HttpStatus.CREATED));
+        ResponseEntity<?> retry = service.execute("key-1", "POST /reservations {a}", booking(HttpStatus.CREATED));
+        
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(first.getHeaders().containsKey("Idempotent-Replayed")).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo("{\"id\":1}");
+    }
+    
+    @Test
+    void rejectionIsNotKeptSoRetryRunsAgain() {
+        ResponseEntity<?> first = service.execute("key-1", "fp", booking(HttpStatus.BAD_REQUEST));
+        ResponseEntity<?> retry = service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().containsKey("Idempotent-Replayed")).isFalse();
+        assertThat(runs.get()).isEqualTo(2);
+    }
+    
+    @Test
+    void exceptionIsNotKeptSoRetryRunsAgain() {
+        try {
+            service.execute("key-1", "fp", () -> {
+                throw new RuntimeException("Not enough tickets available");
+            });
+        } catch (RuntimeException expected) {
+            // The caller's exception handler turns this into the error response
+        }
+        
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void sameKeyForDifferentRequestIsRefused() {
+        service.execute("key-1", "fp-a", booking(HttpStatus.CREATED));
+        ResponseEntity<?> reused = service.execute("key-1", "fp-b", booking(HttpStatus.CREATED));
+        
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void concurrentDuplicateWaitsForTheFirstResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", "fp", () -> {
+                    started.countDown();
+                    try {
+                        finish.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return booking(HttpStatus.CREATED).get();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        CompletableFuture<ResponseEntity<?>> duplicate = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", "fp", booking(HttpStatus.CREATED)));
+        finish.countDown();
+        
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(runs.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void evictsOldestKeysOverTheBound() {
+        ReflectionTestUtils.setField(service, "maxEntries", 2);
+        
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        service.execute("key-2", "fp", booking(HttpStatus.CREATED));
+        service.execute("key-3", "fp", booking(HttpStatus.CREATED));
+        assertThat(heldKeys()).isEqualTo(2);
+        
+        service.execute("key-3", "fp", booking(HttpStatus.CREATED));
+        assertThat(runs.get()).isEqualTo(3);
+        
+        // key-1 went first, so a late retry of it books again
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        assertThat(runs.get()).isEqualTo(4);
+    }
+    
+    @Test
+    void sweepRemovesExpiredKeys() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "ttlMs", 1L);
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        service.execute("key-2", "fp", booking(HttpStatus.CREATED));
+        Thread.sleep(20);
+        
+        service.removeExpired();
+        
+        assertThat(heldKeys()).isZero();
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        assertThat(runs.get()).isEqualTo(3);
+    }
+    
+    @Test
+    void sweepKeepsKeysThatHaveNotExpired() {
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        
+        service.removeExpired();
+        
+        assertThat(heldKeys()).isEqualTo(1);
+        service.execute("key-1", "fp", booking(HttpStatus.CREATED));
+        assertThat(runs.get()).isEqualTo(1);
+    }
+}
\ No newline at end of file
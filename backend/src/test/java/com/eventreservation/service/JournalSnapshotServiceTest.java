@@ -0,0 +1,174 @@
+package com.eventreservation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalSnapshotServiceTest {
+    
+    @TempDir
+    Path directory;
+    
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private final List<BookingJournal> opened = new ArrayList<>();
+    
+    // Just the columns the restore reads, on a private in-memory database per test
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), password VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE events (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100), "
+                + "event_date_time TIMESTAMP, price DECIMAL(10, 2), total_capacity INT, available_capacity INT)");
+        jdbcTemplate.execute("CREATE TABLE reservations (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, event_id BIGINT, "
+                + "number_of_tickets INT, status VARCHAR(20))");
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (BookingJournal journal : opened) {
+            journal.close();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+    
+    private BookingJournal openJournal() throws Exception {
+        BookingJournal journal = new BookingJournal();
+        ReflectionTestUtils.setField(journal, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(journal, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeMb", 1);
+        ReflectionTestUtils.setField(journal, "maxQueued", 100);
+        journal.open();
+        opened.add(journal);
+        return journal;
+    }
+    
+    private JournalSnapshotService snapshotService(BookingJournal journal) {
+        JournalSnapshotService service = new JournalSnapshotService();
+        ReflectionTestUtils.setField(service, "bookingJournal", journal);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "snapshotsToKeep", 2);
+        return service;
+    }
+    
+    private long insert(String sql, Object... args) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+    
+    private long insertReservation(long userId, long eventId, int tickets) {
+        return insert("INSERT INTO reservations (user_id, event_id, number_of_tickets, status) VALUES (?, ?, ?, 'CONFIRMED')",
+                userId, eventId, tickets);
+    }
+    
+    // Like a fresh database: no rows, ids starting over at 1
+    private void wipeDatabase() {
+        jdbcTemplate.execute("TRUNCATE TABLE reservations RESTART IDENTITY");
+        jdbcTemplate.execute("TRUNCATE TABLE events RESTART IDENTITY");
+        jdbcTemplate.execute("TRUNCATE TABLE users RESTART IDENTITY");
+    }
+    
+    // The writer appends in the background; closing drains it, as a shutdown would
+    private void stop(BookingJournal journal) throws InterruptedException {
+        journal.close();
+        opened.remove(journal);
+    }
+    
+    @Test
+    void restoresSnapshotPlusLaterJournalEntriesAfterRestart() throws Exception {
+        BookingJournal journal = openJournal();
+        JournalSnapshotService snapshots = snapshotService(journal);
+        long user = insert("INSERT INTO users (username, password) VALUES ('ann', 'hash')");
+        long concert = insert("INSERT INTO events (title, event_date_time, price, total_capacity, available_capacity) "
+                + "VALUES ('Concert', TIMESTAMP '2025-07-01 20:00:00', 45.50, 100, 98)");
+        long early = insertReservation(user, concert, 2);
+        snapshots.writeSnapshot();
+        
+        // After the snapshot: a new booking, a cancellation, and an event that comes and goes
+        long late = insertReservation(user, concert, 3);
+        journal.recordRow(BookingJournal.RESERVATIONS, late);
+        jdbcTemplate.update("UPDATE reservations SET status = 'CANCELLED' WHERE id = ?", early);
+        journal.recordRow(BookingJournal.RESERVATIONS, early);
+        long talk = insert("INSERT INTO events (title, total_capacity, available_capacity) VALUES ('Talk', 10, 10)");
+        journal.recordRow(BookingJournal.EVENTS, talk);
+        journal.recordRow(BookingJournal.RESERVATIONS, insertReservation(user, talk, 1));
+        journal.recordDelete(BookingJournal.EVENTS, talk);
+        stop(journal);
+        
+        wipeDatabase();
+        snapshotService(openJournal()).restore();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT username FROM users WHERE id = ?", String.class, user)).isEqualTo("ann");
+        Map<String, Object> restored = jdbcTemplate.queryForMap("SELECT * FROM events");
+        assertThat(restored).containsEntry("TITLE", "Concert").containsEntry("AVAILABLE_CAPACITY", 97);
+        assertThat(restored.get("PRICE").toString()).isEqualTo("45.50");
+        assertThat(restored.get("EVENT_DATE_TIME").toString()).startsWith("2025-07-01 20:00:00");
+        assertThat(jdbcTemplate.queryForList("SELECT id, status FROM reservations ORDER BY id")).containsExactly(
+                Map.of("ID", early, "STATUS", "CANCELLED"),
+                Map.of("ID", late, "STATUS", "CONFIRMED"));
+        
+        // New rows are numbered after the restored ones
+        assertThat(insertReservation(user, concert, 1)).isGreaterThan(late);
+    }
+    
+    @Test
+    void leavesExistingDataAlone() throws Exception {
+        BookingJournal journal = openJournal();
+        JournalSnapshotService snapshots = snapshotService(journal);
+        long user = insert("INSERT INTO users (username, password) VALUES ('ann', 'hash')");
+        snapshots.writeSnapshot();
+        jdbcTemplate.update("UPDATE users SET username = 'bob' WHERE id = ?", user);
+        
+        snapshots.restore();
+        
+        assertThat(jdbcTemplate.queryForObject("SELECT username FROM users", String.class)).isEqualTo("bob");
+    }
+    
+    @Test
+    void keepsOnlyTheNewestSnapshots() throws Exception {
+        BookingJournal journal = openJournal();
+        JournalSnapshotService snapshots = snapshotService(journal);
+        long user = insert("INSERT INTO users (username, password) VALUES ('ann', 'hash')");
+        for (int i = 0; i < 3; i++) {
+            journal.recordRow(BookingJournal.USERS, user);
+            while (journal.getLastSequence() < i + 1) {
+                Thread.sleep(5);
+            }
+            snapshots.writeSnapshot();
+        }
+        
+        assertThat(snapshots.listSnapshots()).extracting(path -> path.getFileName().toString()).containsExactly(
+                "snapshot-00000000000000000002.bin", "snapshot-00000000000000000003.bin");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.eventreservation.service;
+
+import com.eventreservation.model.SeatSection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMapTest {
+    
+    private SeatMap seatMap;
+    
+    // Stalls A and B hold seats 0..19; the single Circle row (20..89) spans a word boundary
+    @BeforeEach
+    void setUp() {
+        seatMap = new SeatMap(List.of(
+                new SeatSection(1L, "Stalls", 1, 2, 10, 0),
+                new SeatSection(1L, "Circle", 2, 1, 70, 20)));
+    }
+    
+    @Test
+    void startsWithEverySeatFree() {
+        assertThat(seatMap.getCapacity()).isEqualTo(90);
+        assertThat(seatMap.getAvailable()).isEqualTo(90);
+    }
+    
+    @Test
+    void takesCentredBlockInTheBestRow() {
+        assertThat(seatMap.allocateBest(4)).containsExactly(3, 4, 5, 6);
+        assertThat(seatMap.getAvailable()).isEqualTo(86);
+    }
+    
+    @Test
+    void keepsGroupsTogetherAroundTakenSeats() {
+        seatMap.allocateBest(4);
+        
+        // Both sides of the taken block fit three and are equally far from the centre
+        assertThat(seatMap.allocateBest(3)).containsExactly(0, 1, 2);
+        int[] pair = seatMap.allocateBest(2);
+        assertThat(pair[1]).isEqualTo(pair[0] + 1);
+    }
+    
+    @Test
+    void movesToTheNextRowWhenTheGroupDoesNotFit() {
+        assertThat(seatMap.allocateBest(8)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        
+        int[] seats = seatMap.allocateBest(3);
+        assertThat(seats).containsExactly(14, 15, 16);
+        assertThat(seatMap.label(seats[0])).isEqualTo("Stalls B5");
+    }
+    
+    @Test
+    void splitsTheGroupWhenNoRowHasEnoughTogether() {
+        seatMap.allocateBest(10);
+        seatMap.allocateBest(10);
+        assertThat(seatMap.allocateBest(65)).hasSize(65).startsWith(23).endsWith(87);
+        
+        assertThat(seatMap.allocateBest(5)).containsExactly(20, 21, 22, 88, 89);
+        assertThat(seatMap.getAvailable()).isZero();
+    }
+    
+    @Test
+    void refusesWithoutTakingAnythingWhenTooFewAreFree() {
+        seatMap.allocateBest(88);
+        
+        assertThat(seatMap.allocateBest(3)).isNull();
+        assertThat(seatMap.allocateBest(0)).isNull();
+        assertThat(seatMap.getAvailable()).isEqualTo(2);
+    }
+    
+    @Test
+    void releasedSeatsCanBeSoldAgain() {
+        int[] first = seatMap.allocateBest(4);
+        
+        seatMap.release(first);
+        seatMap.release(first);
+        seatMap.release(new int[] {-1, 500});
+        
+        assertThat(seatMap.getAvailable()).isEqualTo(90);
+        assertThat(seatMap.allocateBest(4)).containsExactly(first);
+    }
+    
+    @Test
+    void takeSkipsUnknownAndAlreadyTakenSeats() {
+        seatMap.take(List.of(4, 4, 5, 90, -3));
+        
+        assertThat(seatMap.getAvailable()).isEqualTo(88);
+        assertThat(seatMap.allocateBest(4)).doesNotContain(4, 5);
+    }
+    
+    @Test
+    void labelsSeatsBySectionRowAndNumber() {
+        assertThat(seatMap.label(0)).isEqualTo("Stalls A1");
+        assertThat(seatMap.label(15)).isEqualTo("Stalls B6");
+        assertThat(seatMap.label(89)).isEqualTo("Circle A70");
+    }
+    
+    @Test
+    void concurrentBuyersNeverGetTheSameSeat() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> mine = new ArrayList<>();
+                    int[] seats;
+                    while ((seats = seatMap.allocateBest(2)) != null) {
+                        for (int seat : seats) {
+                            mine.add(seat);
+                        }
+                    }
+                    return mine;
+                }));
+            }
+            start.countDown();
+            
+            Set<Integer> sold = new HashSet<>();
+            int total = 0;
+            for (Future<List<Integer>> result : results) {
+                List<Integer> mine = result.get(10, TimeUnit.SECONDS);
+                sold.addAll(mine);
+                total += mine.size();
+            }
+            assertThat(total).isEqualTo(90);
+            assertThat(sold).hasSize(90);
+            assertThat(seatMap.getAvailable()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+#!/usr/bin/env python3
+"""Compare a JMH JSON result file against the checked-in baseline.
+
+Usage: python3 compare.py baseline/jmh-baseline.json target/jmh-result.json [--threshold 10]
+
+Exits non-zero when any benchmark regresses by more than the threshold (percent).
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+        key = (result["benchmark"], result["mode"], params, result["threads"])
+        metric = result["primaryMetric"]
+        scores[key] = (metric["score"], metric["scoreUnit"])
+    return scores
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0)
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    for key in sorted(current):
+        name, mode, params, threads = key
+        score, unit = current[key]
+        label = f"{name.rsplit('.', 2)[-2]}.{name.rsplit('.', 1)[-1]} [{mode}, {threads}t{', ' + params if params else ''}]"
+        if key not in baseline:
+            print(f"  NEW   {label}: {score:.3f} {unit}")
+            continue
+        base, _ = baseline[key]
+        # Throughput is better when higher; time modes are better when lower
+        change = (score - base) / base * 100 if base else 0.0
+        worse = -change if mode == "thrpt" else change
+        status = "REGR " if worse > args.threshold else "ok   "
+        regressions += worse > args.threshold
+        print(f"  {status} {label}: {base:.3f} -> {score:.3f} {unit} ({change:+.1f}%)")
+
+    if regressions:
+        print(f"{regressions} benchmark(s) regressed by more than {args.threshold}%")
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,44 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.EventReservationApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class BackendLauncher {
+    
+    private BackendLauncher() {}
+    
+    // Boots the real application quietly, without the sample data or the booking journal, on a random port unless overridden.
+    // Passed as command-line arguments: default properties rank below application.yml and would be ignored.
+    public static ConfigurableApplicationContext start(String databaseName, Map<String, String> overrides) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--server.port=0");
+        defaultProperties(databaseName).forEach(property -> arguments.add("--" + property));
+        overrides.forEach((key, value) -> arguments.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(EventReservationApplication.class)
+                .run(arguments.toArray(new String[0]));
+    }
+    
+    // Shared with StartupBenchmark, which passes them to a separate JVM. data.sql is skipped because it runs
+    // before Hibernate creates the schema; the journal is off so every boot starts from an empty database.
+    // The lifecycle and reminder jobs are off so their background writes don't land inside measurements.
+    static List<String> defaultProperties(String databaseName) {
+        return List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.sql.init.mode=never",
+                "spring.jpa.show-sql=false",
+                "journal.enabled=false",
+                "lifecycle.enabled=false",
+                "reminders.enabled=false",
+                "logging.level.com.eventreservation=WARN",
+                "logging.level.org.springframework.security=WARN");
+    }
+    
+    public static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.model.User;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {}
+    
+    public static Event event(long id, int capacity) {
+        Event event = new Event("Benchmark Event " + id, "Benchmark description",
+                LocalDateTime.now().plusDays(30), "Benchmark Venue", capacity, new BigDecimal("49.99"));
+        event.setId(id);
+        event.setEndDateTime(event.getEventDateTime().plusHours(4));
+        return event;
+    }
+    
+    public static User user(long id) {
+        User user = new User("Bench", "User" + id, "user" + id + "@bench.local", "password");
+        user.setId(id);
+        return user;
+    }
+    
+    public static Reservation reservation(long id, User user, Event event, int tickets) {
+        Reservation reservation = new Reservation(user, event, tickets,
+                event.getPrice().multiply(BigDecimal.valueOf(tickets)));
+        reservation.setId(id);
+        reservation.setCreatedAt(LocalDateTime.now());
+        return reservation;
+    }
+    
+    // Services use field injection, so benchmarks wire collaborators the same way Spring does
+    public static void inject(Object target, String fieldName, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,355 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.OutboxMessage;
+import com.eventreservation.model.User;
+import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.OutboxRepository;
+import com.eventreservation.repository.UserRepository;
+import com.eventreservation.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots the backend against in-memory H2, drives bookings and cancellations through the real
+ * HTTP endpoints from many concurrent users, then checks that no event was oversold.
+ *
+ * Options (all --key=value): users, concurrency, hotEvents, coldEvents, hotCapacity, coldCapacity,
+ * hotShare, cancelRate, duplicateRate, idempotencyKeys (1 sends an Idempotency-Key per booking, 0 doesn't),
+ * smtp (1 starts an embedded GreenMail server and checks every booking and cancellation email arrives),
+ * mailTimeoutSeconds, bookingPermits (booking bulkhead and limiter size; defaults to concurrency).
+ * Exits with status 1 if any invariant is violated.
+ *
+ * Requests turned away with 503 by the booking bulkhead or the concurrency limiter are reported as
+ * "shed", apart from real errors; the bulkhead and limiter are sized for the harness so that most
+ * bookings reach the capacity check, which is what the invariants are about.
+ */
+public class BookingLoadHarness {
+    
+    private final CommandLineOptions options;
+    private final int users;
+    private final int concurrency;
+    private final int hotEvents;
+    private final int coldEvents;
+    private final double hotShare;
+    private final double cancelRate;
+    private final double duplicateRate;
+    private final boolean idempotencyKeys;
+    private final boolean smtp;
+    
+    private ConfigurableApplicationContext context;
+    private GreenMail greenMail;
+    private ObjectMapper objectMapper;
+    private HttpClient httpClient;
+    private String baseUrl;
+    
+    private final List<Long> hotEventIds = new ArrayList<>();
+    private final List<Long> coldEventIds = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    
+    private final LatencyRecorder bookLatency;
+    private final LatencyRecorder cancelLatency;
+    private final LongAdder booked = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    public BookingLoadHarness(CommandLineOptions options) {
+        this.options = options;
+        this.users = options.getInt("users", 5000);
+        this.concurrency = options.getInt("concurrency", 200);
+        this.hotEvents = options.getInt("hotEvents", 3);
+        this.coldEvents = options.getInt("coldEvents", 50);
+        this.hotShare = options.getDouble("hotShare", 0.8);
+        this.cancelRate = options.getDouble("cancelRate", 0.1);
+        this.duplicateRate = options.getDouble("duplicateRate", 0.05);
+        this.idempotencyKeys = options.getInt("idempotencyKeys", 1) == 1;
+        this.smtp = options.getInt("smtp", 0) == 1;
+        this.bookLatency = new LatencyRecorder("book", users * 2);
+        this.cancelLatency = new LatencyRecorder("cancel", users);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        BookingLoadHarness harness = new BookingLoadHarness(new CommandLineOptions(args));
+        boolean passed;
+        try {
+            harness.start();
+            harness.seed();
+            harness.run();
+            passed = harness.checkInvariants();
+            passed &= harness.checkEmails();
+        } finally {
+            harness.stop();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+    
+    void start() {
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("server.tomcat.threads.max", String.valueOf(Math.max(200, concurrency)));
+        // Sized to the offered load: the stock limits are tuned for production traffic and would shed most of it
+        int permits = options.getInt("bookingPermits", concurrency);
+        overrides.put("bulkheads.booking.max-concurrent", String.valueOf(permits));
+        overrides.put("bulkheads.booking.max-queued", String.valueOf(permits));
+        overrides.put("bulkheads.booking.max-wait-ms", "5000");
+        overrides.put("bulkheads.booking.pool-size", String.valueOf(Math.min(permits, 50)));
+        overrides.put("booking.limiter.initial-limit", String.valueOf(permits));
+        overrides.put("booking.limiter.min-limit", String.valueOf(permits));
+        overrides.put("booking.limiter.max-limit", String.valueOf(Math.max(200, permits)));
+        if (smtp) {
+            greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+            greenMail.start();
+            overrides.put("spring.mail.host", "localhost");
+            overrides.put("spring.mail.port", String.valueOf(greenMail.getSmtp().getPort()));
+            overrides.put("spring.mail.properties.mail.smtp.auth", "false");
+            overrides.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+            overrides.put("outbox.dispatch-enabled", "true");
+            overrides.put("outbox.poll-interval-ms", "200");
+        }
+        context = BackendLauncher.start("loadharness", overrides);
+        objectMapper = context.getBean(ObjectMapper.class);
+        baseUrl = BackendLauncher.baseUrl(context);
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .build();
+    }
+    
+    // Users and events go straight through the repositories; only the booking path is exercised over HTTP
+    void seed() {
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        String password = context.getBean(PasswordEncoder.class).encode("load-test");
+        
+        List<Event> events = new ArrayList<>();
+        LocalDateTime startsAt = LocalDateTime.now().plusDays(7);
+        for (int i = 0; i < hotEvents; i++) {
+            events.add(new Event("Hot Event " + i, "Load harness hot event", startsAt, "Arena",
+                    options.getInt("hotCapacity", 500), new BigDecimal("99.00")));
+        }
+        for (int i = 0; i < coldEvents; i++) {
+            events.add(new Event("Cold Event " + i, "Load harness cold event", startsAt, "Hall " + i,
+                    options.getInt("coldCapacity", 2000), new BigDecimal("25.00")));
+        }
+        for (Event event : eventRepository.saveAll(events)) {
+            (event.getTitle().startsWith("Hot") ? hotEventIds : coldEventIds).add(event.getId());
+        }
+        
+        List<User> accounts = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            accounts.add(new User("Load", "User" + i, "load" + i + "@harness.local", password));
+        }
+        for (User user : userRepository.saveAll(accounts)) {
+            tokens.add(jwtUtil.generateToken(user));
+        }
+        System.out.printf("Seeded %d hot + %d cold events and %d users%n", hotEvents, coldEvents, users);
+    }
+    
+    void run() throws InterruptedException {
+        ExecutorService sessions = Executors.newFixedThreadPool(concurrency);
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<Void>> pending = new ArrayList<>(users);
+        for (String token : tokens) {
+            pending.add(CompletableFuture.runAsync(() -> userSession(token), sessions));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        long elapsed = System.nanoTime() - startedAt;
+        sessions.shutdown();
+        sessions.awaitTermination(1, TimeUnit.MINUTES);
+        
+        System.out.printf("%nRun finished in %.1fs: %d booked, %d replayed, %d rejected, %d cancelled, %d shed, %d errors%n",
+                elapsed / 1e9, booked.sum(), replayed.sum(), rejected.sum(), cancelled.sum(), shed.sum(), errors.sum());
+        System.out.println(bookLatency.summary(elapsed));
+        System.out.println(cancelLatency.summary(elapsed));
+    }
+    
+    private void userSession(String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> pool = random.nextDouble() < hotShare || coldEventIds.isEmpty() ? hotEventIds : coldEventIds;
+        Long eventId = pool.get(random.nextInt(pool.size()));
+        String body = "{\"eventId\":" + eventId + ",\"numberOfTickets\":" + (1 + random.nextInt(4)) + "}";
+        
+        // A client retrying a timed-out request fires the same booking twice at once, with the same key
+        String key = idempotencyKeys ? UUID.randomUUID().toString() : null;
+        Long reservationId;
+        if (random.nextDouble() < duplicateRate) {
+            CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> book(token, body, key));
+            Long second = book(token, body, key);
+            Long firstId = first.join();
+            reservationId = firstId != null ? firstId : second;
+        } else {
+            reservationId = book(token, body, key);
+        }
+        
+        if (reservationId != null && random.nextDouble() < cancelRate) {
+            cancel(token, reservationId);
+        }
+    }
+    
+    private Long book(String token, String body, String idempotencyKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + "/reservations"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        HttpRequest request = builder.build();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            bookLatency.record(System.nanoTime() - started);
+            if (response.statusCode() == 201) {
+                (response.headers().firstValue("Idempotent-Replayed").isPresent() ? replayed : booked).increment();
+                JsonNode created = objectMapper.readTree(response.body());
+                return created.get("id").asLong();
+            }
+            if (response.statusCode() >= 400 && response.statusCode() < 500) {
+                rejected.increment();
+            } else if (response.statusCode() == 503) {
+                shed.increment();
+            } else {
+                errors.increment();
+            }
+        } catch (Exception e) {
+            errors.increment();
+        }
+        return null;
+    }
+    
+    private void cancel(String token, Long reservationId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/reservations/" + reservationId + "/cancel"))
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            cancelLatency.record(System.nanoTime() - started);
+            if (response.statusCode() == 200) {
+                cancelled.increment();
+            } else {
+                errors.increment();
+            }
+        } catch (Exception e) {
+            errors.increment();
+        }
+    }
+    
+    boolean checkInvariants() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        boolean passed = true;
+        
+        List<Map<String, Object>> capacity = jdbc.queryForList(
+                "SELECT e.id, e.total_capacity, e.available_capacity, " +
+                "COALESCE(SUM(CASE WHEN r.status = 'CONFIRMED' THEN r.number_of_tickets END), 0) AS confirmed " +
+                "FROM events e LEFT JOIN reservations r ON r.event_id = e.id " +
+                "GROUP BY e.id, e.total_capacity, e.available_capacity");
+        for (Map<String, Object> row : capacity) {
+            long total = ((Number) row.get("TOTAL_CAPACITY")).longValue();
+            long available = ((Number) row.get("AVAILABLE_CAPACITY")).longValue();
+            long confirmed = ((Number) row.get("CONFIRMED")).longValue();
+            if (confirmed + available != total || available < 0) {
+                passed = false;
+                System.out.printf("VIOLATION event %s: confirmed %d + available %d != total %d%n",
+                        row.get("ID"), confirmed, available, total);
+            }
+        }
+        
+        List<Map<String, Object>> duplicates = jdbc.queryForList(
+                "SELECT user_id, event_id, COUNT(*) AS bookings FROM reservations " +
+                "GROUP BY user_id, event_id HAVING COUNT(*) > 1");
+        for (Map<String, Object> row : duplicates) {
+            passed = false;
+            System.out.printf("VIOLATION user %s holds %s reservations for event %s%n",
+                    row.get("USER_ID"), row.get("BOOKINGS"), row.get("EVENT_ID"));
+        }
+        
+        System.out.printf("%nInvariants over %d events: %s%n", capacity.size(), passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+    
+    // Waits for the outbox to drain, then matches what the SMTP server received against the reservations table
+    boolean checkEmails() throws InterruptedException {
+        if (!smtp) {
+            return true;
+        }
+        OutboxRepository outboxRepository = context.getBean(OutboxRepository.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getInt("mailTimeoutSeconds", 60));
+        long drainStarted = System.nanoTime();
+        while (outboxRepository.countByStatus(OutboxMessage.Status.PENDING) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        long drainMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - drainStarted);
+        
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long reservations = jdbc.queryForObject("SELECT COUNT(*) FROM reservations", Long.class);
+        long cancellations = jdbc.queryForObject("SELECT COUNT(*) FROM reservations WHERE status = 'CANCELLED'", Long.class);
+        long confirmationsReceived = 0;
+        long cancellationsReceived = 0;
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            try {
+                if (message.getSubject().startsWith("Booking confirmed")) {
+                    confirmationsReceived++;
+                } else if (message.getSubject().startsWith("Booking cancelled")) {
+                    cancellationsReceived++;
+                }
+            } catch (MessagingException e) {
+                errors.increment();
+            }
+        }
+        
+        Timer lag = context.getBean(MeterRegistry.class).find("outbox.delivery.lag").timer();
+        System.out.printf("%nEmails: %d/%d confirmations, %d/%d cancellations, %d failed; drained %d ms after load%n",
+                confirmationsReceived, reservations, cancellationsReceived, cancellations,
+                outboxRepository.countByStatus(OutboxMessage.Status.FAILED), drainMs);
+        if (lag != null) {
+            System.out.printf("Enqueue-to-send lag: mean %.1f ms, max %.1f ms%n",
+                    lag.mean(TimeUnit.MILLISECONDS), lag.max(TimeUnit.MILLISECONDS));
+        }
+        // At-least-once, so a resend after an expired lease is allowed; a missing email isn't
+        boolean passed = confirmationsReceived >= reservations && cancellationsReceived >= cancellations;
+        System.out.println("Email delivery: " + (passed ? "PASSED" : "FAILED"));
+        return passed;
+    }
+    
+    void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (greenMail != null) {
+            greenMail.stop();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.eventreservation.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Parses --key=value arguments for the standalone harness and generator entry points
+public class CommandLineOptions {
+    
+    private final Map<String, String> values = new HashMap<>();
+    
+    public CommandLineOptions(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+    }
+    
+    public int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+    
+    public long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+    
+    public double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+    
+    public String getString(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+    
+    public List<Long> getLongList(String name, String defaultValue) {
+        List<Long> list = new ArrayList<>();
+        for (String part : getString(name, defaultValue).split(",")) {
+            list.add(Long.parseLong(part.trim()));
+        }
+        return list;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.eventreservation.benchmark;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads a synthetic catalog straight into the schema Hibernate created, using batched JDBC
+ * inserts on parallel connections. Event popularity follows a Zipf distribution, so a small set of
+ * events receives most reservations, as during real on-sales.
+ *
+ * Generation is deterministic for a given seed: reservations are sampled once to size each event's
+ * capacity, then re-sampled from the same per-chunk seeds while inserting.
+ *
+ * A user books an event at most once, as the application enforces. Each chunk hands out its own
+ * residue class of user slots per event, so chunks can be generated independently without repeating a
+ * (user, event) pair; a draw for an event every user has already booked is dropped.
+ */
+public class DatasetGenerator {
+    
+    private static final String[] ADJECTIVES = {"Annual", "Summer", "Winter", "Global", "Indie", "Live", "Grand", "Open", "Urban", "Classic"};
+    private static final String[] TOPICS = {"Jazz", "Tech", "Startup", "Food", "Film", "Design", "Rock", "Data", "Wellness", "Art"};
+    private static final String[] KINDS = {"Festival", "Conference", "Workshop", "Night", "Summit", "Meetup", "Expo", "Concert", "Gala", "Fair"};
+    private static final String[] CATEGORIES = {"CONFERENCE", "WORKSHOP", "SEMINAR", "CONCERT", "FESTIVAL", "SPORTS", "NETWORKING", "EXHIBITION", "PARTY", "OTHER"};
+    private static final int CHUNK_SIZE = 250_000;
+    
+    private final DataSource dataSource;
+    private final long events;
+    private final long users;
+    private final long reservations;
+    private final double skew;
+    private final int batchSize;
+    private final int threads;
+    private final long seed;
+    
+    private int[] soldTickets;
+    private int[] capacity;
+    private double[] popularityCdf;
+    private long scatterMultiplier;
+    private long userStride;
+    private long generatedReservations;
+    
+    public DatasetGenerator(DataSource dataSource, long events, long users, long reservations,
+                            double skew, int batchSize, int threads, long seed) {
+        this.dataSource = dataSource;
+        this.events = events;
+        this.users = users;
+        this.reservations = reservations;
+        this.skew = skew;
+        this.batchSize = batchSize;
+        this.threads = threads;
+        this.seed = seed;
+    }
+    
+    public void generate() throws Exception {
+        long started = System.nanoTime();
+        buildPopularity();
+        planCapacity();
+        insertUsers();
+        insertEvents();
+        insertReservations();
+        resetIdentities();
+        System.out.printf("Generated %,d events, %,d users, %,d reservations in %.1fs%n",
+                events, users, generatedReservations, (System.nanoTime() - started) / 1e9);
+    }
+    
+    // Popularity rank r gets weight 1/r^s; ranks are scattered over ids so hot events aren't all low ids
+    private void buildPopularity() {
+        popularityCdf = new double[(int) events];
+        double total = 0;
+        for (int rank = 1; rank <= events; rank++) {
+            total += 1.0 / Math.pow(rank, skew);
+            popularityCdf[rank - 1] = total;
+        }
+        for (int i = 0; i < popularityCdf.length; i++) {
+            popularityCdf[i] /= total;
+        }
+        scatterMultiplier = 2_654_435_761L;
+        while (gcd(scatterMultiplier, events) != 1) {
+            scatterMultiplier++;
+        }
+        userStride = 2_654_435_761L % users;
+        while (gcd(userStride, users) != 1) {
+            userStride++;
+        }
+    }
+    
+    private long sampleEventId(SplittableRandom random) {
+        int rank = Arrays.binarySearch(popularityCdf, random.nextDouble());
+        rank = rank >= 0 ? rank : -rank - 1;
+        return (Math.min(rank, events - 1) * scatterMultiplier) % events + 1;
+    }
+    
+    // Slot chunk + chunks * n is unique per (chunk, n), and the stride is coprime with users, so distinct
+    // slots of one event map to distinct users. Returns 0 once the event has run out of users.
+    private long pickUserId(long eventId, long chunk, int ordinal) {
+        long slot = chunk + chunkCount() * ordinal;
+        if (slot >= users) {
+            return 0;
+        }
+        long offset = ((eventId * 0x9E3779B97F4A7C15L) >>> 1) % users;
+        return (offset + slot * userStride) % users + 1;
+    }
+    
+    private long chunkCount() {
+        return (reservations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+    
+    private void planCapacity() {
+        soldTickets = new int[(int) events];
+        capacity = new int[(int) events];
+        int[] demand = new int[(int) events];
+        forEachReservation((index, eventId, userId, tickets, confirmed) -> {
+            demand[(int) eventId - 1] += tickets;
+            generatedReservations++;
+        });
+        // Leave ~10% headroom so popular events end up nearly, but not entirely, sold out
+        for (int i = 0; i < events; i++) {
+            capacity[i] = Math.max(50, (int) (demand[i] * 1.1) + 10);
+        }
+    }
+    
+    private void insertUsers() throws Exception {
+        parallelChunks(users, (connection, from, to) -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, first_name, last_name, email, password, role, is_enabled, created_at, updated_at) " +
+                    "VALUES (?, 'Synthetic', ?, ?, '{noop}synthetic', 'USER', TRUE, ?, ?)")) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                int pending = 0;
+                for (long id = from + 1; id <= to; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "User" + id);
+                    insert.setString(3, "user" + id + "@synthetic.local");
+                    insert.setTimestamp(4, now);
+                    insert.setTimestamp(5, now);
+                    insert.addBatch();
+                    if (++pending == batchSize) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+        System.out.printf("  users loaded (%,d)%n", users);
+    }
+    
+    private void insertEvents() throws Exception {
+        // Sold counts are only known once reservations are sampled, so fill them in before writing events
+        forEachReservation((index, eventId, userId, tickets, confirmed) -> {
+            if (confirmed) {
+                soldTickets[(int) eventId - 1] += tickets;
+            }
+        });
+        
+        LocalDateTime origin = LocalDateTime.now().minusDays(365);
+        parallelChunks(events, (connection, from, to) -> {
+            SplittableRandom random = new SplittableRandom(seed ^ from);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO events (id, title, description, event_date_time, end_date_time, venue, venue_address, " +
+                    "total_capacity, available_capacity, price, category, status, organizer_name, organizer_email, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, ?, ?)")) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                int pending = 0;
+                for (long id = from + 1; id <= to; id++) {
+                    int i = (int) id - 1;
+                    String title = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + TOPICS[random.nextInt(TOPICS.length)]
+                            + " " + KINDS[random.nextInt(KINDS.length)] + " #" + id;
+                    // Spread over two years centred on today; a tenth run for several days
+                    LocalDateTime start = origin.plusMinutes(random.nextLong(730L * 24 * 60));
+                    LocalDateTime end = random.nextInt(10) == 0 ? start.plusDays(1 + random.nextInt(5)) : start.plusHours(3);
+                    
+                    insert.setLong(1, id);
+                    insert.setString(2, title);
+                    insert.setString(3, "Synthetic event " + id + " about " + title.toLowerCase() + ".");
+                    insert.setTimestamp(4, Timestamp.valueOf(start));
+                    insert.setTimestamp(5, Timestamp.valueOf(end));
+                    insert.setString(6, "Venue " + (id % 5000));
+                    insert.setString(7, (id % 997) + " Synthetic Street");
+                    insert.setInt(8, capacity[i]);
+                    insert.setInt(9, capacity[i] - soldTickets[i]);
+                    insert.setBigDecimal(10, BigDecimal.valueOf(500 + random.nextInt(20000), 2));
+                    insert.setString(11, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                    insert.setString(12, "Organizer " + (id % 1000));
+                    insert.setString(13, "organizer" + (id % 1000) + "@synthetic.local");
+                    insert.setTimestamp(14, now);
+                    insert.setTimestamp(15, now);
+                    insert.addBatch();
+                    if (++pending == batchSize) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+        System.out.printf("  events loaded (%,d)%n", events);
+    }
+    
+    private void insertReservations() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Future<?>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (long chunkStart = 0; chunkStart < reservations; chunkStart += CHUNK_SIZE) {
+            long from = chunkStart;
+            long to = Math.min(reservations, chunkStart + CHUNK_SIZE);
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement insert = connection.prepareStatement(
+                             "INSERT INTO reservations (id, user_id, event_id, number_of_tickets, total_amount, status, " +
+                             "reservation_code, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    connection.setAutoCommit(false);
+                    int pending = 0;
+                    SplittableRandom random = chunkRandom(from);
+                    int[] booked = new int[(int) events];
+                    for (long index = from; index < to; index++) {
+                        long eventId = sampleEventId(random);
+                        int tickets = 1 + random.nextInt(4);
+                        boolean confirmed = random.nextInt(10) != 0;
+                        long userId = pickUserId(eventId, from / CHUNK_SIZE, booked[(int) eventId - 1]++);
+                        if (userId == 0) {
+                            continue;
+                        }
+                        insert.setLong(1, index + 1);
+                        insert.setLong(2, userId);
+                        insert.setLong(3, eventId);
+                        insert.setInt(4, tickets);
+                        insert.setBigDecimal(5, BigDecimal.valueOf(tickets * 2500L, 2));
+                        insert.setString(6, confirmed ? "CONFIRMED" : "CANCELLED");
+                        insert.setString(7, "SYN-" + (index + 1));
+                        insert.setTimestamp(8, now);
+                        insert.setTimestamp(9, now);
+                        insert.addBatch();
+                        if (++pending == batchSize) {
+                            insert.executeBatch();
+                            connection.commit();
+                            pending = 0;
+                        }
+                    }
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        System.out.printf("  reservations loaded (%,d)%n", generatedReservations);
+    }
+    
+    // Must draw from the random stream and drop duplicates the same way as insertReservations (one in ten is cancelled)
+    private void forEachReservation(ReservationVisitor visitor) {
+        int[] booked = new int[(int) events];
+        for (long chunkStart = 0; chunkStart < reservations; chunkStart += CHUNK_SIZE) {
+            SplittableRandom random = chunkRandom(chunkStart);
+            Arrays.fill(booked, 0);
+            long to = Math.min(reservations, chunkStart + CHUNK_SIZE);
+            for (long index = chunkStart; index < to; index++) {
+                long eventId = sampleEventId(random);
+                int tickets = 1 + random.nextInt(4);
+                boolean confirmed = random.nextInt(10) != 0;
+                long userId = pickUserId(eventId, chunkStart / CHUNK_SIZE, booked[(int) eventId - 1]++);
+                if (userId != 0) {
+                    visitor.visit(index, eventId, userId, tickets, confirmed);
+                }
+            }
+        }
+    }
+    
+    private SplittableRandom chunkRandom(long chunkStart) {
+        return new SplittableRandom(seed * 31 + chunkStart);
+    }
+    
+    // Explicit ids bypass the identity generators, so move them past the loaded rows
+    private void resetIdentities() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+            for (String[] table : new String[][] {{"users", String.valueOf(users + 1)},
+                    {"events", String.valueOf(events + 1)}, {"reservations", String.valueOf(reservations + 1)}}) {
+                statement.execute(postgres
+                        ? "SELECT setval(pg_get_serial_sequence('" + table[0] + "', 'id'), " + table[1] + ", false)"
+                        : "ALTER TABLE " + table[0] + " ALTER COLUMN id RESTART WITH " + table[1]);
+            }
+        }
+    }
+    
+    private void parallelChunks(long rows, ChunkWriter writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunkStart = 0; chunkStart < rows; chunkStart += CHUNK_SIZE) {
+            long from = chunkStart;
+            long to = Math.min(rows, chunkStart + CHUNK_SIZE);
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    writer.write(connection, from, to);
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+    
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+    
+    public long getEvents() { return events; }
+    
+    public long getUsers() { return users; }
+    
+    public long getReservations() { return generatedReservations; }
+    
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Connection connection, long from, long to) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    private interface ReservationVisitor {
+        void visit(long index, long eventId, long userId, int tickets, boolean confirmed);
+    }
+}
\ No newline at end of file
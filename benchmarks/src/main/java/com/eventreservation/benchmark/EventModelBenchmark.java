@@ -0,0 +1,46 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.model.Event;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventModelBenchmark {
+    
+    private Event event;
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        event = BenchmarkFixtures.event(1, 1_000_000);
+        user = BenchmarkFixtures.user(1);
+    }
+    
+    @Benchmark
+    public boolean isBookable() {
+        return event.isBookable();
+    }
+    
+    // Paired so capacity never runs out during a measurement
+    @Benchmark
+    public Integer decreaseThenIncreaseCapacity() {
+        event.decreaseCapacity(2);
+        event.increaseCapacity(2);
+        return event.getAvailableCapacity();
+    }
+    
+    // The constructor is the only caller of the private generateReservationCode
+    @Benchmark
+    public String generateReservationCode() {
+        return new Reservation(user, event, 2, BigDecimal.TEN).getReservationCode();
+    }
+}
\ No newline at end of file
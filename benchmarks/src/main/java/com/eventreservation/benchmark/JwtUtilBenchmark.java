@@ -0,0 +1,46 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.model.User;
+import com.eventreservation.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        BenchmarkFixtures.inject(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        BenchmarkFixtures.inject(jwtUtil, "expiration", 86400000L);
+        user = BenchmarkFixtures.user(1);
+        token = jwtUtil.generateToken(user);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+    
+    // The filters parse the token once for the subject, then compare it with the loaded user
+    @Benchmark
+    public Boolean filterValidationPath() {
+        String subject = jwtUtil.extractVerifiedSubject(token);
+        return subject != null && subject.equals(user.getUsername());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.eventreservation.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-size, lock-free sample buffer; percentiles are computed once at the end of a run
+public class LatencyRecorder {
+    
+    private final String name;
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    
+    public LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.samples = new long[capacity];
+    }
+    
+    public void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        } else {
+            dropped.increment();
+        }
+    }
+    
+    public int getCount() {
+        return Math.min(count.get(), samples.length);
+    }
+    
+    public String summary(long elapsedNanos) {
+        int n = getCount();
+        if (n == 0) {
+            return String.format("%-12s no samples", name);
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        double throughput = n / (elapsedNanos / 1_000_000_000.0);
+        return String.format("%-12s n=%-7d %8.1f ops/s  p50=%7.2fms  p90=%7.2fms  p99=%7.2fms  p99.9=%7.2fms  max=%7.2fms%s",
+                name, n, throughput,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 90)), millis(percentile(sorted, 99)),
+                millis(percentile(sorted, 99.9)), millis(sorted[n - 1]),
+                dropped.sum() > 0 ? "  (" + dropped.sum() + " samples over buffer)" : "");
+    }
+    
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
\ No newline at end of file
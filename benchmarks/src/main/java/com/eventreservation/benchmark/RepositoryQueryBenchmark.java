@@ -0,0 +1,134 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.repository.EventRepository;
+import com.eventreservation.repository.ReservationRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Loads synthetic catalogs of increasing size with {@link DatasetGenerator} and times the
+ * repository queries behind search, the calendar and "my reservations" against each one,
+ * then prints the database's plan for the equivalent SQL.
+ *
+ * Options (all --key=value): sizes (event counts), reservationsPerEvent, usersPerEvent, skew,
+ * iterations, warmup, batchSize, threads, seed. Pass url/username/password/driver to run against
+ * an external database (e.g. Postgres) instead of in-memory H2; its schema is recreated per size.
+ */
+public class RepositoryQueryBenchmark {
+    
+    private static final String[] KEYWORDS = {"jazz", "summit", "venue 42", "nothing-matches"};
+    private static final DateTimeFormatter SQL_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final CommandLineOptions options;
+    private final int iterations;
+    private final int warmup;
+    
+    public RepositoryQueryBenchmark(CommandLineOptions options) {
+        this.options = options;
+        this.iterations = options.getInt("iterations", 50);
+        this.warmup = options.getInt("warmup", 5);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        RepositoryQueryBenchmark benchmark = new RepositoryQueryBenchmark(new CommandLineOptions(args));
+        for (long events : benchmark.options.getLongList("sizes", "10000,100000,1000000")) {
+            benchmark.runSize(events);
+        }
+    }
+    
+    void runSize(long events) throws Exception {
+        long users = Math.max(1, (long) (events * options.getDouble("usersPerEvent", 2.0)));
+        long reservations = (long) (events * options.getDouble("reservationsPerEvent", 50.0));
+        System.out.printf("%n=== %,d events / %,d users / %,d reservations ===%n", events, users, reservations);
+        
+        ConfigurableApplicationContext context = BackendLauncher.start("querybench" + events, datasourceOverrides());
+        try {
+            DataSource dataSource = context.getBean(DataSource.class);
+            new DatasetGenerator(dataSource, events, users, reservations, options.getDouble("skew", 1.1),
+                    options.getInt("batchSize", 1000), options.getInt("threads", Runtime.getRuntime().availableProcessors()),
+                    options.getLong("seed", 42L)).generate();
+            
+            EventRepository eventRepository = context.getBean(EventRepository.class);
+            ReservationRepository reservationRepository = context.getBean(ReservationRepository.class);
+            SplittableRandom random = new SplittableRandom(options.getLong("seed", 42L));
+            LocalDateTime now = LocalDateTime.now();
+            
+            measure("search", i -> eventRepository.searchEvents(KEYWORDS[i % KEYWORDS.length], now).size());
+            measure("between", i -> {
+                LocalDateTime from = now.minusDays(365).plusDays(random.nextInt(723));
+                return eventRepository.findEventsBetweenDates(from, from.plusDays(7)).size();
+            });
+            measure("upcoming", i -> eventRepository.findUpcomingActiveEvents(now).size());
+            measure("userResv", i -> reservationRepository.findUserReservationsWithEvents(1 + random.nextLong(users)).size());
+            
+            explainPlans(context.getBean(JdbcTemplate.class), dataSource, now, users);
+        } finally {
+            context.close();
+        }
+    }
+    
+    private Map<String, String> datasourceOverrides() {
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("spring.jpa.hibernate.ddl-auto", "create");
+        String url = options.getString("url", null);
+        if (url != null) {
+            overrides.put("spring.datasource.url", url);
+            overrides.put("spring.datasource.username", options.getString("username", "postgres"));
+            overrides.put("spring.datasource.password", options.getString("password", ""));
+            overrides.put("spring.datasource.driver-class-name", options.getString("driver", "org.postgresql.Driver"));
+        }
+        return overrides;
+    }
+    
+    // Each query runs iterations times after a warmup; the row count is printed so plans can be read against it
+    private void measure(String name, Function<Integer, Integer> query) {
+        for (int i = 0; i < warmup; i++) {
+            query.apply(i);
+        }
+        LatencyRecorder recorder = new LatencyRecorder(name, iterations);
+        long rows = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long queryStarted = System.nanoTime();
+            rows += query.apply(i);
+            recorder.record(System.nanoTime() - queryStarted);
+        }
+        System.out.println(recorder.summary(System.nanoTime() - started) + "  avgRows=" + rows / Math.max(1, iterations));
+    }
+    
+    private void explainPlans(JdbcTemplate jdbc, DataSource dataSource, LocalDateTime now, long users) throws Exception {
+        boolean postgres;
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+        }
+        String at = "TIMESTAMP '" + now.format(SQL_TIMESTAMP) + "'";
+        String weekEnd = "TIMESTAMP '" + now.plusDays(7).format(SQL_TIMESTAMP) + "'";
+        
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("search", "SELECT * FROM events e WHERE e.status = 'ACTIVE' AND e.event_date_time > " + at +
+                " AND (LOWER(e.title) LIKE '%jazz%' OR LOWER(e.description) LIKE '%jazz%' OR LOWER(e.venue) LIKE '%jazz%')");
+        queries.put("between", "SELECT * FROM events e WHERE e.event_date_time BETWEEN " + at + " AND " + weekEnd +
+                " ORDER BY e.event_date_time");
+        queries.put("upcoming", "SELECT * FROM events e WHERE e.status = 'ACTIVE' AND e.event_date_time > " + at +
+                " ORDER BY e.event_date_time");
+        queries.put("userResv", "SELECT * FROM reservations r JOIN events e ON e.id = r.event_id WHERE r.user_id = " +
+                (users / 2 + 1) + " ORDER BY e.event_date_time");
+        
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            System.out.printf("%n-- plan: %s%n", query.getKey());
+            List<String> plan = jdbc.queryForList((postgres ? "EXPLAIN ANALYZE " : "EXPLAIN ") + query.getValue(), String.class);
+            plan.forEach(System.out::println);
+        }
+    }
+}
\ No newline at end of file
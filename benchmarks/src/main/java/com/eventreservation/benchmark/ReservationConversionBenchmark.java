@@ -0,0 +1,60 @@
+package com.eventreservation.benchmark;
+
+import com.eventreservation.dto.ReservationDto;
+import com.eventreservation.model.Event;
+import com.eventreservation.model.Reservation;
+import com.eventreservation.repository.ReservationRepository;
+import com.eventreservation.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Reservation-to-DTO conversion through the public getUpcomingReservations, with the repository stubbed
+// to hand back already-loaded rows, so the numbers are the conversion and not the query
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationConversionBenchmark {
+    
+    private ReservationService reservationService;
+    private List<Reservation> reservations;
+    
+    @Setup
+    public void setUp() {
+        Event event = BenchmarkFixtures.event(1, 500);
+        
+        // Typical admin listing for one event
+        reservations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            reservations.add(BenchmarkFixtures.reservation(i, BenchmarkFixtures.user(i), event, 1 + i % 4));
+        }
+        
+        ReservationRepository repository = (ReservationRepository) Proxy.newProxyInstance(
+                ReservationRepository.class.getClassLoader(),
+                new Class<?>[] { ReservationRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findUpcomingUserReservations" -> reservations.subList(0, ((Pageable) args[2]).getPageSize());
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        reservationService = new ReservationService();
+        BenchmarkFixtures.inject(reservationService, "reservationRepository", repository);
+    }
+    
+    @Benchmark
+    public List<ReservationDto> convertSingle() {
+        return reservationService.getUpcomingReservations(1L, 1);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(200)
+    public List<ReservationDto> convertEventListing() {
+        return reservationService.getUpcomingReservations(1L, 200);
+    }
+}
\ No newline at end of file
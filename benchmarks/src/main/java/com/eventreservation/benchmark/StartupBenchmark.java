@@ -0,0 +1,152 @@
+package com.eventreservation.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the packaged backend in a fresh JVM and times how long it takes to answer its first request
+ * with a 200. That is the delay before a node added by the autoscaler can take traffic, so it
+ * includes JVM startup, class loading and the context refresh. The probe is the health endpoint,
+ * which is public and also checks every connection pool. Each JVM gets BackendLauncher's overrides.
+ *
+ * Modes (--modes, comma-separated):
+ * - exec: the executable boot jar
+ * - fast-start: the -Pfast-start build, with the AppCDS archive and spring.aot.enabled
+ *
+ * Options (all --key=value): modes (exec,fast-start), target (../backend/target), runs (5),
+ * warmup (1), path (/api/actuator/health), timeoutSeconds (60), jvmArgs (comma-separated, added to every run),
+ * maxMedianMs (0 = report only; otherwise exit 1 if any mode's median is slower).
+ */
+public class StartupBenchmark {
+    
+    private static final String ARTIFACT = "event-reservation-backend-1.0.0";
+    
+    private final CommandLineOptions options;
+    private final Path target;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    
+    public StartupBenchmark(CommandLineOptions options) {
+        this.options = options;
+        this.target = Path.of(options.getString("target", "../backend/target"));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(new CommandLineOptions(args));
+        long maxMedianMs = benchmark.options.getLong("maxMedianMs", 0);
+        boolean failed = false;
+        for (String mode : benchmark.options.getString("modes", "exec,fast-start").split(",")) {
+            long medianMs = benchmark.runMode(mode.trim());
+            if (medianMs < 0 || (maxMedianMs > 0 && medianMs > maxMedianMs)) {
+                failed = true;
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+    
+    // Returns the median time to first successful request in ms, or -1 if any run never got one
+    long runMode(String mode) throws Exception {
+        List<String> jvmArgs = new ArrayList<>();
+        Path jar;
+        switch (mode) {
+            case "exec" -> jar = target.resolve(ARTIFACT + "-exec.jar");
+            case "fast-start" -> {
+                Path directory = target.resolve("fast-start");
+                jar = directory.resolve(ARTIFACT + "-fast-start.jar");
+                jvmArgs.add("-XX:SharedArchiveFile=" + directory.resolve("app.jsa"));
+                jvmArgs.add("-Dspring.aot.enabled=true");
+            }
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + " (expected exec or fast-start)");
+        }
+        if (!Files.exists(jar)) {
+            System.out.printf("%-12s skipped: %s not found (build it first, see README)%n", mode, jar);
+            return -1;
+        }
+        String extra = options.getString("jvmArgs", "");
+        if (!extra.isBlank()) {
+            jvmArgs.addAll(Arrays.asList(extra.split(",")));
+        }
+        
+        int warmup = options.getInt("warmup", 1);
+        int runs = options.getInt("runs", 5);
+        long[] samples = new long[runs];
+        for (int i = 0; i < warmup + runs; i++) {
+            long nanos = startOnce(mode, jar, jvmArgs, i);
+            if (nanos < 0) {
+                return -1;
+            }
+            if (i >= warmup) {
+                samples[i - warmup] = nanos;
+            }
+        }
+        
+        Arrays.sort(samples);
+        long medianMs = TimeUnit.NANOSECONDS.toMillis(samples[runs / 2]);
+        System.out.printf("%-12s runs=%d  first 200 after: min=%dms  median=%dms  max=%dms%n", mode, runs,
+                TimeUnit.NANOSECONDS.toMillis(samples[0]), medianMs, TimeUnit.NANOSECONDS.toMillis(samples[runs - 1]));
+        return medianMs;
+    }
+    
+    private long startOnce(String mode, Path jar, List<String> jvmArgs, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-Dserver.port=" + port);
+        BackendLauncher.defaultProperties("startup").forEach(property -> command.add("-D" + property));
+        command.add("-jar");
+        command.add(jar.toString());
+        
+        File log = File.createTempFile("startup-" + mode + "-" + run + "-", ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + options.getString("path", "/api/actuator/health")))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getInt("timeoutSeconds", 60));
+        
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                if (isOk(request)) {
+                    long elapsed = System.nanoTime() - started;
+                    log.delete();
+                    return elapsed;
+                }
+                Thread.sleep(10);
+            }
+            System.out.printf("%-12s run %d never answered; output kept in %s%n", mode, run, log);
+            return -1;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private boolean isOk(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.eventreservation.service;
+
+import com.eventreservation.benchmark.BenchmarkFixtures;
+import com.eventreservation.model.Event;
+import com.eventreservation.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Measures decreaseEventCapacity/increaseEventCapacity with the database stubbed out, so the
+// numbers isolate the in-process work around the conditional update. The row lock the database
+// takes for that update is emulated with a monitor per event.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapacityContentionBenchmark {
+    
+    private static final int CAPACITY = Integer.MAX_VALUE / 2;
+    
+    @Param({"1", "8"})
+    public int hotEvents;
+    
+    private EventService eventService;
+    private Event[] events;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        events = new Event[hotEvents];
+        for (int i = 0; i < hotEvents; i++) {
+            events[i] = BenchmarkFixtures.event(i + 1, CAPACITY);
+        }
+        
+        EventRepository repository = (EventRepository) Proxy.newProxyInstance(
+                EventRepository.class.getClassLoader(),
+                new Class<?>[] { EventRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(event((Long) args[0]));
+                    case "decreaseAvailableCapacity" -> decrease(event((Long) args[0]), (Integer) args[1]);
+                    case "increaseAvailableCapacity" -> increase(event((Long) args[0]), (Integer) args[1]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(),
+                new Class<?>[] { EntityManager.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("refresh")) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ApplicationEventPublisher publisher = event -> { };
+        
+        eventService = new EventService();
+        BenchmarkFixtures.inject(eventService, "eventRepository", repository);
+        BenchmarkFixtures.inject(eventService, "entityManager", entityManager);
+        BenchmarkFixtures.inject(eventService, "availabilityStreamService", new AvailabilityStreamService());
+        BenchmarkFixtures.inject(eventService, "eventPublisher", publisher);
+        // Never opened, so it stays disabled and records nothing
+        BenchmarkFixtures.inject(eventService, "bookingJournal", new BookingJournal());
+        BenchmarkFixtures.inject(eventService, "meterRegistry", new SimpleMeterRegistry());
+        eventService.registerMeters();
+    }
+    
+    @Setup(Level.Iteration)
+    public void resetCapacity() {
+        for (Event event : events) {
+            event.setAvailableCapacity(CAPACITY);
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        long next;
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void decreaseUncontended(ThreadCursor cursor) {
+        eventService.decreaseEventCapacity(pick(cursor), 1);
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public void decreaseContended8(ThreadCursor cursor) {
+        eventService.decreaseEventCapacity(pick(cursor), 1);
+    }
+    
+    @Benchmark
+    @Threads(32)
+    public void decreaseContended32(ThreadCursor cursor) {
+        eventService.decreaseEventCapacity(pick(cursor), 1);
+    }
+    
+    // Booking and cancelling interleaved, as during an on-sale with churn
+    @Benchmark
+    @Threads(8)
+    public void bookAndCancelContended8(ThreadCursor cursor) {
+        Long eventId = pick(cursor);
+        eventService.decreaseEventCapacity(eventId, 2);
+        eventService.increaseEventCapacity(eventId, 2);
+    }
+    
+    private Event event(Long eventId) {
+        return events[(int) (eventId - 1)];
+    }
+    
+    private static int decrease(Event event, int count) {
+        synchronized (event) {
+            if (event.getAvailableCapacity() < count) {
+                return 0;
+            }
+            event.setAvailableCapacity(event.getAvailableCapacity() - count);
+            return 1;
+        }
+    }
+    
+    private static int increase(Event event, int count) {
+        synchronized (event) {
+            event.setAvailableCapacity(Math.min(event.getAvailableCapacity() + count, event.getTotalCapacity()));
+            return 1;
+        }
+    }
+    
+    private Long pick(ThreadCursor cursor) {
+        return (cursor.next++ % hotEvents) + 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+import api from './api';
+
+export const dashboardService = {
+  // Profile, upcoming reservations and recommended events; sections listed in `degraded` are null
+  async getDashboard() {
+    const response = await api.get('/dashboard');
+    return response.data;
+  },
+};
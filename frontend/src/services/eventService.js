@@ -1,5 +1,7 @@
 import api from './api';
 
+const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+
 export const eventService = {
   async getAllEvents() {
     const response = await api.get('/events');
@@ -11,6 +13,14 @@ export const eventService = {
     return response.data;
   },
 
+  // One round trip for a list of ids; resolves to { events, missing }
+  async getEventsByIds(ids) {
+    const response = ids.length > 50
+      ? await api.post('/events/batch', ids)
+      : await api.get(`/events?ids=${ids.join(',')}`);
+    return response.data;
+  },
+
   async getFeaturedEvents() {
     const response = await api.get('/events/featured');
     return response.data;
@@ -41,6 +51,15 @@ export const eventService = {
     return response.data;
   },
 
+  // Live availability pushed by the server; returns an unsubscribe function
+  subscribeToAvailability(id, onUpdate) {
+    const source = new EventSource(`${API_BASE_URL}/events/${id}/availability/stream`);
+    source.addEventListener('availability', (message) => {
+      onUpdate(JSON.parse(message.data));
+    });
+    return () => source.close();
+  },
+
   async getEventCategories() {
     const response = await api.get('/events/categories');
     return response.data;